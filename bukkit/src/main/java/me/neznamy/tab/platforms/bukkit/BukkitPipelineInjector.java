@@ -4,15 +4,14 @@ import com.mojang.authlib.GameProfile;
 import io.netty.channel.Channel;
 import lombok.SneakyThrows;
 import me.neznamy.tab.platforms.bukkit.scoreboard.PacketScoreboard;
-import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.nametags.NameTag;
 import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
+import me.neznamy.tab.platforms.bukkit.nms.storage.nms.NMSHandles;
 import me.neznamy.tab.platforms.bukkit.nms.storage.nms.NMSStorage;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.features.injection.NettyPipelineInjector;
-import me.neznamy.tab.shared.features.sorting.Sorting;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
@@ -46,36 +45,36 @@ public class BukkitPipelineInjector extends NettyPipelineInjector {
     @SneakyThrows
     public void onDisplayObjective(@NotNull TabPlayer player, @NotNull Object packet) {
         TAB.getInstance().getFeatureManager().onDisplayObjective(player,
-                PacketScoreboard.DisplayObjective_POSITION.getInt(packet),
-                (String) PacketScoreboard.DisplayObjective_OBJECTIVE_NAME.get(packet));
+                (int) NMSHandles.DisplayObjective_POSITION.invokeExact(packet),
+                (String) (Object) NMSHandles.DisplayObjective_OBJECTIVE_NAME.invokeExact(packet));
     }
 
     @Override
     @SneakyThrows
     public void onObjective(@NotNull TabPlayer player, @NotNull Object packet) {
         TAB.getInstance().getFeatureManager().onObjective(player,
-                PacketScoreboard.Objective_METHOD.getInt(packet),
-                (String) PacketScoreboard.Objective_OBJECTIVE_NAME.get(packet));
+                (int) NMSHandles.Objective_METHOD.invokeExact(packet),
+                (String) (Object) NMSHandles.Objective_OBJECTIVE_NAME.invokeExact(packet));
     }
 
     @Override
-    public boolean isDisplayObjective(@NotNull Object packet) {
-        return PacketScoreboard.DisplayObjectiveClass.isInstance(packet);
+    public boolean isDisplayObjective(@NotNull Class<?> packetClass) {
+        return PacketScoreboard.DisplayObjectiveClass.isAssignableFrom(packetClass);
     }
 
     @Override
-    public boolean isObjective(@NotNull Object packet) {
-        return PacketScoreboard.ObjectivePacketClass.isInstance(packet);
+    public boolean isObjective(@NotNull Class<?> packetClass) {
+        return PacketScoreboard.ObjectivePacketClass.isAssignableFrom(packetClass);
     }
 
     @Override
-    public boolean isTeam(@NotNull Object packet) {
-        return PacketScoreboard.TeamPacketClass.isInstance(packet);
+    public boolean isTeam(@NotNull Class<?> packetClass) {
+        return PacketScoreboard.TeamPacketClass.isAssignableFrom(packetClass);
     }
 
     @Override
-    public boolean isPlayerInfo(@NotNull Object packet) {
-        return BukkitTabList.PacketPlayOutPlayerInfoClass.isInstance(packet);
+    public boolean isPlayerInfo(@NotNull Class<?> packetClass) {
+        return BukkitTabList.PacketPlayOutPlayerInfoClass.isAssignableFrom(packetClass);
     }
 
     @Override
@@ -85,35 +84,35 @@ public class BukkitPipelineInjector extends NettyPipelineInjector {
         List<String> actions;
         if (BukkitTabList.ClientboundPlayerInfoRemovePacket != null) {
             //1.19.3+
-            actions = ((EnumSet<?>)BukkitTabList.ACTION.get(packet)).stream().map(Enum::name).collect(Collectors.toList());
+            actions = ((EnumSet<?>) (Object) NMSHandles.PlayerInfo_ACTION.invokeExact(packet)).stream().map(Enum::name).collect(Collectors.toList());
         } else {
             //1.19.2-
-            actions = Collections.singletonList(BukkitTabList.ACTION.get(packet).toString());
+            actions = Collections.singletonList(((Object) NMSHandles.PlayerInfo_ACTION.invokeExact(packet)).toString());
         }
         List<Object> updatedList = new ArrayList<>();
-        for (Object nmsData : (List<?>) BukkitTabList.PLAYERS.get(packet)) {
-            GameProfile profile = (GameProfile) BukkitTabList.PlayerInfoData_getProfile.invoke(nmsData);
+        for (Object nmsData : (List<?>) (Object) NMSHandles.PlayerInfo_PLAYERS.invokeExact(packet)) {
+            GameProfile profile = (GameProfile) (Object) NMSHandles.PlayerInfoData_getProfile.invokeExact(nmsData);
             Object displayName = null;
             if (actions.contains(TabList.Action.UPDATE_DISPLAY_NAME.name()) || actions.contains(TabList.Action.ADD_PLAYER.name())) {
-                displayName = BukkitTabList.PlayerInfoData_DisplayName.get(nmsData);
+                displayName = (Object) NMSHandles.PlayerInfoData_DisplayName.invokeExact(nmsData);
                 IChatBaseComponent newDisplayName = TAB.getInstance().getFeatureManager().onDisplayNameChange(receiver, profile.getId());
                 if (newDisplayName != null) displayName = nms.toNMSComponent(newDisplayName, receiver.getVersion());
-                if (!nms.is1_19_3Plus()) BukkitTabList.PlayerInfoData_DisplayName.set(nmsData, displayName);
+                if (!nms.is1_19_3Plus()) NMSHandles.PlayerInfoData_DisplayName_SET.invokeExact(nmsData, displayName);
             }
             if (nms.is1_19_3Plus()) {
                 // 1.19.3 is using records, which do not allow changing final fields, need to rewrite the list entirely
-                updatedList.add(BukkitTabList.newPlayerInfoData.newInstance(
-                        profile.getId(),
-                        profile,
-                        BukkitTabList.PlayerInfoData_Listed.getBoolean(nmsData),
-                        BukkitTabList.PlayerInfoData_Latency.getInt(nmsData),
-                        BukkitTabList.PlayerInfoData_GameMode.get(nmsData),
+                updatedList.add((Object) NMSHandles.newPlayerInfoData.invokeExact(
+                        (Object) profile.getId(),
+                        (Object) profile,
+                        (boolean) NMSHandles.PlayerInfoData_Listed.invokeExact(nmsData),
+                        (int) NMSHandles.PlayerInfoData_Latency.invokeExact(nmsData),
+                        (Object) NMSHandles.PlayerInfoData_GameMode.invokeExact(nmsData),
                         displayName,
-                        BukkitTabList.PlayerInfoData_RemoteChatSession.get(nmsData)));
+                        (Object) NMSHandles.PlayerInfoData_RemoteChatSession.invokeExact(nmsData)));
             }
         }
         if (nms.is1_19_3Plus()) {
-            BukkitTabList.PLAYERS.set(packet, updatedList);
+            NMSHandles.PlayerInfo_PLAYERS_SET.invokeExact(packet, (Object) updatedList);
         }
     }
 
@@ -122,32 +121,22 @@ public class BukkitPipelineInjector extends NettyPipelineInjector {
     @SneakyThrows
     public void modifyPlayers(@NotNull Object packetPlayOutScoreboardTeam) {
         if (TAB.getInstance().getNameTagManager() == null) return;
-        int action = PacketScoreboard.TeamPacket_ACTION.getInt(packetPlayOutScoreboardTeam);
+        int action = (int) NMSHandles.TeamPacket_ACTION.invokeExact(packetPlayOutScoreboardTeam);
         if (action == 1 || action == 2 || action == 4) return;
-        Collection<String> players = (Collection<String>) PacketScoreboard.TeamPacket_PLAYERS.get(packetPlayOutScoreboardTeam);
-        String teamName = (String) PacketScoreboard.TeamPacket_NAME.get(packetPlayOutScoreboardTeam);
+        Collection<String> players = (Collection<String>) (Object) NMSHandles.TeamPacket_PLAYERS.invokeExact(packetPlayOutScoreboardTeam);
+        String teamName = (String) (Object) NMSHandles.TeamPacket_NAME.invokeExact(packetPlayOutScoreboardTeam);
         if (players == null) return;
+        NameTag nameTags = (NameTag) TAB.getInstance().getNameTagManager();
         //creating a new list to prevent NoSuchFieldException in minecraft packet encoder when a player is removed
         Collection<String> newList = new ArrayList<>();
         for (String entry : players) {
-            TabPlayer p = TAB.getInstance().getPlayer(entry);
-            if (p == null) {
-                newList.add(entry);
-                continue;
-            }
-            Sorting sorting = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.SORTING);
-            String expectedTeam = sorting.getShortTeamName(p);
-            if (expectedTeam == null) {
-                newList.add(entry);
-                continue;
-            }
-            if (!((NameTag)TAB.getInstance().getNameTagManager()).getDisableChecker().isDisabledPlayer(p) &&
-                    !TAB.getInstance().getNameTagManager().hasTeamHandlingPaused(p) && !teamName.equals(expectedTeam)) {
-                logTeamOverride(teamName, p.getName(), expectedTeam);
+            String expectedTeam = nameTags.getExpectedTeam(entry);
+            if (expectedTeam != null && !teamName.equals(expectedTeam)) {
+                logTeamOverride(teamName, entry, expectedTeam);
             } else {
                 newList.add(entry);
             }
         }
-        PacketScoreboard.TeamPacket_PLAYERS.set(packetPlayOutScoreboardTeam, newList);
+        NMSHandles.TeamPacket_PLAYERS_SET.invokeExact(packetPlayOutScoreboardTeam, (Object) newList);
     }
 }
\ No newline at end of file
@@ -100,6 +100,23 @@ public class BukkitTabList implements TabList {
         }
     }
 
+    @Override
+    @SneakyThrows
+    public void removeEntries(@NotNull Collection<UUID> entries) {
+        if (entries.isEmpty()) return;
+        if (ClientboundPlayerInfoRemovePacket != null) {
+            //1.19.3+
+            player.sendPacket(newClientboundPlayerInfoRemovePacket.newInstance(new ArrayList<>(entries)));
+        } else {
+            //1.19.2-
+            List<Entry> list = new ArrayList<>();
+            for (UUID entry : entries) {
+                list.add(new Entry.Builder(entry).build());
+            }
+            player.sendPacket(createPacket(Action.REMOVE_PLAYER, list, player.getVersion()));
+        }
+    }
+
     @Override
     public void updateDisplayName(@NotNull UUID entry, @Nullable IChatBaseComponent displayName) {
         player.sendPacket(createPacket(Action.UPDATE_DISPLAY_NAME,
@@ -126,6 +143,12 @@ public class BukkitTabList implements TabList {
         player.sendPacket(createPacket(Action.ADD_PLAYER, entry, player.getVersion()));
     }
 
+    @Override
+    public void addEntries(@NotNull Collection<Entry> entries) {
+        if (entries.isEmpty()) return;
+        player.sendPacket(createPacket(Action.ADD_PLAYER, entries, player.getVersion()));
+    }
+
     @Override
     @SneakyThrows
     public void setPlayerListHeaderFooter(@NotNull IChatBaseComponent header, @NotNull IChatBaseComponent footer) {
@@ -143,8 +166,12 @@ public class BukkitTabList implements TabList {
         player.sendPacket(packet);
     }
 
-    @SneakyThrows
     private Object createPacket(TabList.Action action, TabList.Entry entry, ProtocolVersion clientVersion) {
+        return createPacket(action, Collections.singletonList(entry), clientVersion);
+    }
+
+    @SneakyThrows
+    private Object createPacket(TabList.Action action, Collection<TabList.Entry> entries, ProtocolVersion clientVersion) {
         NMSStorage nms = NMSStorage.getInstance();
         if (nms.getMinorVersion() < 8) return null;
         Object packet;
@@ -157,34 +184,38 @@ public class BukkitTabList implements TabList {
                 actions = EnumSet.of(Enum.valueOf(EnumPlayerInfoActionClass, action.name()));
             }
             packet = newPacketPlayOutPlayerInfo.newInstance(actions, Collections.emptyList());
-            GameProfile profile = new GameProfile(entry.getUniqueId(), entry.getName());
-            if (entry.getSkin() != null) profile.getProperties().put(TabList.TEXTURES_PROPERTY,
-                    new Property(TabList.TEXTURES_PROPERTY, entry.getSkin().getValue(), entry.getSkin().getSignature()));
-            players.add(newPlayerInfoData.newInstance(
-                    entry.getUniqueId(),
-                    profile,
-                    true,
-                    entry.getLatency(),
-                    int2GameMode(entry.getGameMode()),
-                    entry.getDisplayName() == null ? null : nms.toNMSComponent(entry.getDisplayName(), clientVersion),
-                    null
-            ));
+            for (TabList.Entry entry : entries) {
+                GameProfile profile = new GameProfile(entry.getUniqueId(), entry.getName());
+                if (entry.getSkin() != null) profile.getProperties().put(TabList.TEXTURES_PROPERTY,
+                        new Property(TabList.TEXTURES_PROPERTY, entry.getSkin().getValue(), entry.getSkin().getSignature()));
+                players.add(newPlayerInfoData.newInstance(
+                        entry.getUniqueId(),
+                        profile,
+                        true,
+                        entry.getLatency(),
+                        int2GameMode(entry.getGameMode()),
+                        entry.getDisplayName() == null ? null : nms.toNMSComponent(entry.getDisplayName(), clientVersion),
+                        null
+                ));
+            }
         } else {
             packet = newPacketPlayOutPlayerInfo.newInstance(Enum.valueOf(EnumPlayerInfoActionClass, action.name()),
                     Array.newInstance(NMSStorage.getInstance().EntityPlayer, 0));
-            GameProfile profile = new GameProfile(entry.getUniqueId(), entry.getName());
-            if (entry.getSkin() != null) profile.getProperties().put(TabList.TEXTURES_PROPERTY,
-                    new Property(TabList.TEXTURES_PROPERTY, entry.getSkin().getValue(), entry.getSkin().getSignature()));
-            List<Object> parameters = new ArrayList<>();
-            if (newPlayerInfoData.getParameterTypes()[0] == PacketPlayOutPlayerInfoClass) {
-                parameters.add(packet);
+            for (TabList.Entry entry : entries) {
+                GameProfile profile = new GameProfile(entry.getUniqueId(), entry.getName());
+                if (entry.getSkin() != null) profile.getProperties().put(TabList.TEXTURES_PROPERTY,
+                        new Property(TabList.TEXTURES_PROPERTY, entry.getSkin().getValue(), entry.getSkin().getSignature()));
+                List<Object> parameters = new ArrayList<>();
+                if (newPlayerInfoData.getParameterTypes()[0] == PacketPlayOutPlayerInfoClass) {
+                    parameters.add(packet);
+                }
+                parameters.add(profile);
+                parameters.add(entry.getLatency());
+                parameters.add(int2GameMode(entry.getGameMode()));
+                parameters.add(entry.getDisplayName() == null ? null : nms.toNMSComponent(entry.getDisplayName(), clientVersion));
+                if (nms.getMinorVersion() >= 19) parameters.add(null);
+                players.add(newPlayerInfoData.newInstance(parameters.toArray()));
             }
-            parameters.add(profile);
-            parameters.add(entry.getLatency());
-            parameters.add(int2GameMode(entry.getGameMode()));
-            parameters.add(entry.getDisplayName() == null ? null : nms.toNMSComponent(entry.getDisplayName(), clientVersion));
-            if (nms.getMinorVersion() >= 19) parameters.add(null);
-            players.add(newPlayerInfoData.newInstance(parameters.toArray()));
         }
         PLAYERS.set(packet, players);
         return packet;
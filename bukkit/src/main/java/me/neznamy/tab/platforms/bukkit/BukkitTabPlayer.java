@@ -14,6 +14,7 @@ import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.platforms.bukkit.bossbar.EntityBossBar;
 import me.neznamy.tab.platforms.bukkit.bossbar.BukkitBossBar;
 import me.neznamy.tab.platforms.bukkit.bossbar.ViaBossBar;
+import me.neznamy.tab.platforms.bukkit.nms.datawatcher.CachedEntityData;
 import me.neznamy.tab.platforms.bukkit.nms.datawatcher.DataWatcher;
 import me.neznamy.tab.platforms.bukkit.nms.storage.nms.NMSStorage;
 import me.neznamy.tab.platforms.bukkit.nms.storage.packet.*;
@@ -150,7 +151,8 @@ public class BukkitTabPlayer extends BackendTabPlayer {
     public void updateEntityMetadata(int entityId, @NotNull EntityData data) {
         if (PacketPlayOutEntityMetadataStorage.CONSTRUCTOR.getParameterCount() == 2) {
             //1.19.3+
-            sendPacket(PacketPlayOutEntityMetadataStorage.CONSTRUCTOR.newInstance(entityId, DataWatcher.packDirty.invoke(data.build())));
+            Object values = data instanceof CachedEntityData ? ((CachedEntityData) data).pack() : DataWatcher.packDirty.invoke(data.build());
+            sendPacket(PacketPlayOutEntityMetadataStorage.CONSTRUCTOR.newInstance(entityId, values));
         } else {
             sendPacket(PacketPlayOutEntityMetadataStorage.CONSTRUCTOR.newInstance(entityId, data.build(), true));
         }
@@ -161,6 +163,15 @@ public class BukkitTabPlayer extends BackendTabPlayer {
         sendPacket(PacketPlayOutEntityTeleportStorage.build(entityId, location));
     }
 
+    @Override
+    public boolean moveEntity(int entityId, @NotNull Location from, @NotNull Location to) {
+        if (!PacketPlayOutRelEntityMoveStorage.isAvailable()) return false;
+        Object packet = PacketPlayOutRelEntityMoveStorage.build(entityId, from, to);
+        if (packet == null) return false;
+        sendPacket(packet);
+        return true;
+    }
+
     @Override
     @SneakyThrows
     public void destroyEntities(int... entities) {
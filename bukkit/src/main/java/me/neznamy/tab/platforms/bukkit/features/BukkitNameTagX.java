@@ -1,18 +1,22 @@
 package me.neznamy.tab.platforms.bukkit.features;
 
+import lombok.Data;
 import lombok.SneakyThrows;
 import me.neznamy.tab.platforms.bukkit.platform.BukkitPlatform;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.features.types.PacketSendListener;
+import me.neznamy.tab.platforms.bukkit.nms.datawatcher.CachedEntityData;
 import me.neznamy.tab.platforms.bukkit.nms.datawatcher.DataWatcher;
+import me.neznamy.tab.platforms.bukkit.nms.storage.nms.NMSHandles;
 import me.neznamy.tab.platforms.bukkit.nms.storage.nms.NMSStorage;
 import me.neznamy.tab.platforms.bukkit.nms.storage.packet.PacketPlayOutEntityDestroyStorage;
 import me.neznamy.tab.platforms.bukkit.nms.storage.packet.PacketPlayOutEntityTeleportStorage;
 import me.neznamy.tab.shared.backend.BackendTabPlayer;
 import me.neznamy.tab.shared.backend.EntityData;
 import me.neznamy.tab.shared.backend.features.unlimitedtags.BackendNameTagX;
+import me.neznamy.tab.shared.util.ComponentCache;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.entity.Entity;
@@ -23,15 +27,15 @@ import org.bukkit.event.EventHandler;
 import org.bukkit.event.EventPriority;
 import org.bukkit.event.HandlerList;
 import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerMoveEvent;
 import org.bukkit.event.player.PlayerRespawnEvent;
+import org.bukkit.event.player.PlayerTeleportEvent;
 import org.bukkit.event.player.PlayerToggleSneakEvent;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * The core class for unlimited NameTag mode on Bukkit
@@ -41,8 +45,31 @@ public class BukkitNameTagX extends BackendNameTagX implements Listener, PacketS
     /** Reference to NMS storage for quick access */
     private final NMSStorage nms = NMSStorage.getInstance();
 
+    /**
+     * Armor stand metadata shared by all viewers with the same name, visibility and RGB support.
+     * Entries of old names are not removed explicitly, they are evicted once the cache is full.
+     */
+    private final ComponentCache<MetadataKey, EntityData> metadataCache = new ComponentCache<>(1000, (key, clientVersion) -> {
+        DataWatcher datawatcher = new DataWatcher();
+        datawatcher.getHelper().setEntityFlags(key.flags);
+        datawatcher.getHelper().setCustomName(key.displayName, clientVersion);
+        datawatcher.getHelper().setCustomNameVisible(key.nameVisible);
+        datawatcher.getHelper().setArmorStandFlags((byte)16);
+        return new CachedEntityData(datawatcher);
+    });
+
+    /** Listener for vehicle changes, {@code null} if not available on this server */
+    @Nullable private final VehicleListener vehicleListener;
+
     public BukkitNameTagX(@NotNull JavaPlugin plugin) {
         Bukkit.getPluginManager().registerEvents(this, plugin);
+        if (VehicleListener.isAvailable()) {
+            vehicleListener = new VehicleListener(this);
+            Bukkit.getPluginManager().registerEvents(vehicleListener, plugin);
+            getVehicleManager().setEventDriven(true);
+        } else {
+            vehicleListener = null;
+        }
     }
 
     @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
@@ -56,11 +83,62 @@ public class BukkitNameTagX extends BackendNameTagX implements Listener, PacketS
     @EventHandler
     public void onRespawn(PlayerRespawnEvent e) {
         TabPlayer respawned = TAB.getInstance().getPlayer(e.getPlayer().getUniqueId());
-        if (respawned == null || isPlayerDisabled(respawned)) return;
+        if (respawned == null) return;
+        updatePosition(respawned, e.getRespawnLocation());
+        if (isPlayerDisabled(respawned)) return;
         TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.PLAYER_RESPAWN,
                 () -> getArmorStandManager(respawned).teleport());
     }
 
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMove(PlayerMoveEvent e) {
+        onMove(e.getPlayer(), e.getFrom(), e.getTo());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onTeleport(PlayerTeleportEvent e) {
+        onMove(e.getPlayer(), e.getFrom(), e.getTo());
+    }
+
+    /**
+     * Updates position of player in player grid if player moved into another block.
+     *
+     * @param   player
+     *          Player who moved
+     * @param   from
+     *          Previous location
+     * @param   to
+     *          New location
+     */
+    private void onMove(@NotNull Player player, @NotNull Location from, @Nullable Location to) {
+        if (to == null) return;
+        if (from.getBlockX() == to.getBlockX() && from.getBlockZ() == to.getBlockZ() && from.getWorld() == to.getWorld()) return;
+        TabPlayer p = TAB.getInstance().getPlayer(player.getUniqueId());
+        if (p == null) return;
+        updatePosition(p, to);
+    }
+
+    /**
+     * Updates position of player in player grid to specified location.
+     *
+     * @param   player
+     *          Player to update
+     * @param   location
+     *          Player's new location
+     */
+    private void updatePosition(@NotNull TabPlayer player, @NotNull Location location) {
+        String world = location.getWorld() == null ? player.getWorld() : location.getWorld().getName();
+        getPlayerGrid().move(player, world, location.getX(), location.getZ());
+    }
+
+    @Override
+    public boolean isListeningTo(@NotNull Class<?> packetClass) {
+        return (nms.PacketPlayOutEntity.isAssignableFrom(packetClass) && !nms.PacketPlayOutEntityLook.isAssignableFrom(packetClass)) ||
+                PacketPlayOutEntityTeleportStorage.CLASS.isAssignableFrom(packetClass) ||
+                nms.PacketPlayOutNamedEntitySpawn.isAssignableFrom(packetClass) ||
+                PacketPlayOutEntityDestroyStorage.CLASS.isAssignableFrom(packetClass);
+    }
+
     @SuppressWarnings("unchecked")
     @Override
     @SneakyThrows
@@ -68,31 +146,40 @@ public class BukkitNameTagX extends BackendNameTagX implements Listener, PacketS
         if (receiver.getVersion().getMinorVersion() < 8) return;
         if (!receiver.isLoaded() || getDisableChecker().isDisabledPlayer(receiver) || getUnlimitedDisableChecker().isDisabledPlayer(receiver)) return;
         if (nms.PacketPlayOutEntity.isInstance(packet) && !nms.PacketPlayOutEntityLook.isInstance(packet)) { //ignoring head rotation only packets
-            packetListener.onEntityMove((BackendTabPlayer) receiver, nms.PacketPlayOutEntity_ENTITYID.getInt(packet));
+            packetListener.onEntityMove((BackendTabPlayer) receiver, (int) NMSHandles.PacketPlayOutEntity_ENTITYID.invokeExact(packet));
         } else if (PacketPlayOutEntityTeleportStorage.CLASS.isInstance(packet)) {
-            packetListener.onEntityMove((BackendTabPlayer) receiver, PacketPlayOutEntityTeleportStorage.ENTITY_ID.getInt(packet));
+            packetListener.onEntityMove((BackendTabPlayer) receiver, (int) NMSHandles.PacketPlayOutEntityTeleport_ENTITY_ID.invokeExact(packet));
         } else if (nms.PacketPlayOutNamedEntitySpawn.isInstance(packet)) {
-            packetListener.onEntitySpawn((BackendTabPlayer) receiver, nms.PacketPlayOutNamedEntitySpawn_ENTITYID.getInt(packet));
+            packetListener.onEntitySpawn((BackendTabPlayer) receiver, (int) NMSHandles.PacketPlayOutNamedEntitySpawn_ENTITYID.invokeExact(packet));
         } else if (PacketPlayOutEntityDestroyStorage.CLASS.isInstance(packet)) {
             if (nms.getMinorVersion() >= 17) {
-                Object entities = PacketPlayOutEntityDestroyStorage.ENTITIES.get(packet);
+                Object entities = (Object) NMSHandles.PacketPlayOutEntityDestroy_ENTITIES.invokeExact(packet);
                 if (entities instanceof List) {
-                    packetListener.onEntityDestroy((BackendTabPlayer) receiver, (List<Integer>) entities);
+                    if (NMSHandles.IntList_getInt != null) {
+                        int size = (int) NMSHandles.IntList_size.invokeExact(entities);
+                        for (int i = 0; i < size; i++) {
+                            packetListener.onEntityDestroy((BackendTabPlayer) receiver, (int) NMSHandles.IntList_getInt.invokeExact(entities, i));
+                        }
+                    } else {
+                        packetListener.onEntityDestroy((BackendTabPlayer) receiver, (List<Integer>) entities);
+                    }
                 } else {
                     //1.17.0
                     packetListener.onEntityDestroy((BackendTabPlayer) receiver, (int) entities);
                 }
             } else {
-                packetListener.onEntityDestroy((BackendTabPlayer) receiver, (int[]) PacketPlayOutEntityDestroyStorage.ENTITIES.get(packet));
+                packetListener.onEntityDestroy((BackendTabPlayer) receiver, (int[]) (Object) NMSHandles.PacketPlayOutEntityDestroy_ENTITIES.invokeExact(packet));
             }
         }
     }
 
     @Override
-    public double getDistance(@NotNull TabPlayer player1, @NotNull TabPlayer player2) {
+    public double getDistanceSquared(@NotNull TabPlayer player1, @NotNull TabPlayer player2) {
         Location loc1 = ((Player) player1.getPlayer()).getLocation();
         Location loc2 = ((Player) player2.getPlayer()).getLocation();
-        return Math.sqrt(Math.pow(loc1.getX()-loc2.getX(), 2) + Math.pow(loc1.getZ()-loc2.getZ(), 2));
+        double x = loc1.getX()-loc2.getX();
+        double z = loc1.getZ()-loc2.getZ();
+        return x*x + z*z;
     }
 
     @Override
@@ -108,19 +195,25 @@ public class BukkitNameTagX extends BackendNameTagX implements Listener, PacketS
     @Override
     public void unregisterListener() {
         HandlerList.unregisterAll(this);
+        if (vehicleListener != null) HandlerList.unregisterAll(vehicleListener);
     }
 
     @SuppressWarnings("deprecation")
     @Override
-    public @NotNull List<Integer> getPassengers(@NotNull Object entity) {
+    public @NotNull int[] getPassengers(@NotNull Object entity) {
         Entity vehicle = (Entity) entity;
         if (TAB.getInstance().getServerVersion().getMinorVersion() >= 11) {
-            return vehicle.getPassengers().stream().map(Entity::getEntityId).collect(Collectors.toList());
+            List<Entity> passengers = vehicle.getPassengers();
+            int[] ids = new int[passengers.size()];
+            for (int i = 0; i < ids.length; i++) {
+                ids[i] = passengers.get(i).getEntityId();
+            }
+            return ids;
         } else {
             if (vehicle.getPassenger() != null) {
-                return Collections.singletonList(vehicle.getPassenger().getEntityId());
+                return new int[] {vehicle.getPassenger().getEntityId()};
             } else {
-                return Collections.emptyList();
+                return new int[0];
             }
         }
     }
@@ -184,12 +277,18 @@ public class BukkitNameTagX extends BackendNameTagX implements Listener, PacketS
 
     @Override
     public EntityData createDataWatcher(@NotNull TabPlayer viewer, byte flags, @NotNull String displayName, boolean nameVisible) {
-        DataWatcher datawatcher = new DataWatcher();
-        datawatcher.getHelper().setEntityFlags(flags);
-        datawatcher.getHelper().setCustomName(displayName, viewer.getVersion());
-        datawatcher.getHelper().setCustomNameVisible(nameVisible);
-        datawatcher.getHelper().setArmorStandFlags((byte)16);
-        return datawatcher;
+        return metadataCache.get(new MetadataKey(displayName, flags, nameVisible), viewer.getVersion());
+    }
+
+    /**
+     * Key of armor stand metadata in cache
+     */
+    @Data
+    private static class MetadataKey {
+
+        @NotNull private final String displayName;
+        private final byte flags;
+        private final boolean nameVisible;
     }
 
     @Override
@@ -0,0 +1,66 @@
+package me.neznamy.tab.platforms.bukkit.features;
+
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.backend.features.unlimitedtags.BackendNameTagX;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.util.ReflectionUtils;
+import org.bukkit.entity.Entity;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.jetbrains.annotations.NotNull;
+import org.spigotmc.event.entity.EntityDismountEvent;
+import org.spigotmc.event.entity.EntityMountEvent;
+
+/**
+ * Listener for vehicle enter and exit of players, notifying vehicle refresher
+ * instead of periodically checking vehicles of all players. Only available
+ * on servers with Spigot API.
+ */
+@RequiredArgsConstructor
+public class VehicleListener implements Listener {
+
+    /** Main feature */
+    private final BackendNameTagX feature;
+
+    /**
+     * Returns {@code true} if the events are available on this server, {@code false} if not.
+     *
+     * @return  {@code true} if events are available, {@code false} if not
+     */
+    public static boolean isAvailable() {
+        return ReflectionUtils.classExists("org.spigotmc.event.entity.EntityMountEvent") &&
+                ReflectionUtils.classExists("org.spigotmc.event.entity.EntityDismountEvent");
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onMount(EntityMountEvent e) {
+        onVehicleChange(e.getEntity());
+    }
+
+    @EventHandler(priority = EventPriority.MONITOR, ignoreCancelled = true)
+    public void onDismount(EntityDismountEvent e) {
+        onVehicleChange(e.getEntity());
+    }
+
+    /**
+     * Refreshes vehicle of the player one tick later, after the
+     * entity was actually mounted or dismounted.
+     *
+     * @param   entity
+     *          Entity that entered or left a vehicle
+     */
+    private void onVehicleChange(@NotNull Entity entity) {
+        if (!(entity instanceof Player)) return;
+        TabPlayer p = TAB.getInstance().getPlayer(entity.getUniqueId());
+        if (p == null || !p.isLoaded()) return;
+        TAB.getInstance().getCPUManager().runTaskLater(50, feature.getFeatureName(), TabConstants.CpuUsageCategory.VEHICLE_CHANGE,
+                () -> {
+                    if (TAB.getInstance().getPlayer(p.getUniqueId()) != p) return; // Quit in the meantime
+                    feature.getVehicleManager().refresh(p, false);
+                });
+    }
+}
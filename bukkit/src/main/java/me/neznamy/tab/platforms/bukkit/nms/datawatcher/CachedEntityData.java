@@ -0,0 +1,44 @@
+package me.neznamy.tab.platforms.bukkit.nms.datawatcher;
+
+import lombok.RequiredArgsConstructor;
+import lombok.SneakyThrows;
+import me.neznamy.tab.shared.backend.EntityData;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Entity data converted into NMS objects only once and then reused in every packet
+ * it is sent in. Converted objects are never modified after creation, therefore they
+ * can be safely put into packets for multiple viewers at the same time.
+ */
+@RequiredArgsConstructor
+public class CachedEntityData implements EntityData {
+
+    /** Data to convert */
+    @NotNull private final DataWatcher data;
+
+    /** Converted NMS DataWatcher */
+    private volatile Object nmsWatcher;
+
+    /** Packed values for 1.19.3+ metadata packet */
+    private volatile Object packedValues;
+
+    @Override
+    public @NotNull Object build() {
+        Object watcher = nmsWatcher;
+        if (watcher == null) nmsWatcher = watcher = data.build();
+        return watcher;
+    }
+
+    /**
+     * Returns list of packed values for 1.19.3+ metadata packet. Values are packed
+     * from a separate watcher, because packing clears dirty flags.
+     *
+     * @return  List of packed values
+     */
+    @SneakyThrows
+    public @NotNull Object pack() {
+        Object values = packedValues;
+        if (values == null) packedValues = values = DataWatcher.packDirty.invoke(data.build());
+        return values;
+    }
+}
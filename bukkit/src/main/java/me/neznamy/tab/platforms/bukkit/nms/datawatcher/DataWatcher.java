@@ -8,6 +8,8 @@ import me.neznamy.tab.shared.backend.EntityData;
 import me.neznamy.tab.shared.util.ReflectionUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Method;
 import java.util.HashMap;
@@ -72,18 +74,31 @@ public class DataWatcher implements EntityData {
      */
     @SneakyThrows
     public @NotNull Object build() {
-        NMSStorage nms = NMSStorage.getInstance();
         Object nmsWatcher;
-        if (CONSTRUCTOR.getParameterCount() == 1) { //1.7+
-            nmsWatcher = CONSTRUCTOR.newInstance(new Object[] {null});
+        if (Handles.ENTITY_CONSTRUCTOR) { //1.7+
+            nmsWatcher = (Object) Handles.CONSTRUCTOR.invokeExact((Object) null);
         } else {
-            nmsWatcher = CONSTRUCTOR.newInstance();
+            nmsWatcher = (Object) Handles.CONSTRUCTOR.invokeExact();
         }
         for (DataWatcherItem item : dataValues.values()) {
             Object nmsObject = item.getType().build();
-            REGISTER.invoke(nmsWatcher, nmsObject, item.getValue());
-            if (nms.is1_19_3Plus()) markDirty.invoke(nmsWatcher, nmsObject);
+            Handles.REGISTER.invokeExact(nmsWatcher, nmsObject, item.getValue());
+            if (Handles.MARK_DIRTY != null) Handles.MARK_DIRTY.invokeExact(nmsWatcher, nmsObject);
         }
         return nmsWatcher;
     }
+
+    /**
+     * Method handles of the reflective objects above, initialized on first build
+     * after they were loaded. Register handle accepts position as {@code Object}
+     * on all versions, unboxing it into {@code int} on 1.8 and lower.
+     */
+    private static class Handles {
+
+        private static final boolean ENTITY_CONSTRUCTOR = DataWatcher.CONSTRUCTOR.getParameterCount() == 1;
+        private static final MethodHandle CONSTRUCTOR = ReflectionUtils.handle(DataWatcher.CONSTRUCTOR);
+        private static final MethodHandle REGISTER = ReflectionUtils.handle(DataWatcher.REGISTER)
+                .asType(MethodType.methodType(void.class, Object.class, Object.class, Object.class));
+        private static final MethodHandle MARK_DIRTY = ReflectionUtils.handle(markDirty);
+    }
 }
\ No newline at end of file
@@ -98,6 +98,7 @@ public class BukkitLegacyNMSStorage extends NMSStorage {
             PacketScoreboard.EnumScoreboardHealthDisplay = (Class<Enum>) getLegacyClass("IScoreboardCriteria$EnumScoreboardHealthDisplay", "EnumScoreboardHealthDisplay");
             PacketScoreboard.EnumScoreboardAction = (Class<Enum>) getLegacyClass("ScoreboardServer$Action", "PacketPlayOutScoreboardScore$EnumScoreboardAction", "EnumScoreboardAction");
             PacketScoreboard.EnumNameTagVisibility = (Class<Enum>) getLegacyClass("ScoreboardTeamBase$EnumNameTagVisibility", "EnumNameTagVisibility");
+            PacketPlayOutRelEntityMoveStorage.CLASS = getLegacyClass("PacketPlayOutEntity$PacketPlayOutRelEntityMove", "PacketPlayOutRelEntityMove");
         }
         if (minorVersion >= 9) {
             DataWatcherObject.CLASS = getLegacyClass("DataWatcherObject");
@@ -0,0 +1,97 @@
+package me.neznamy.tab.platforms.bukkit.nms.storage.nms;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import me.neznamy.tab.platforms.bukkit.BukkitTabList;
+import me.neznamy.tab.platforms.bukkit.nms.storage.packet.PacketPlayOutEntityDestroyStorage;
+import me.neznamy.tab.platforms.bukkit.nms.storage.packet.PacketPlayOutEntityTeleportStorage;
+import me.neznamy.tab.platforms.bukkit.scoreboard.PacketScoreboard;
+import me.neznamy.tab.shared.util.ReflectionUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+
+/**
+ * Method handles for NMS fields and methods accessed on every sent packet. Reflective
+ * {@code Field}/{@code Method} calls perform access and type checks on each call, while
+ * handles stored in {@code static final} fields are treated as constants by the JIT
+ * and can be inlined into the call site.
+ * <p>
+ * Handles are created from the already loaded reflective objects, therefore this class
+ * must not be accessed before {@link NMSStorage} is fully initialized. All reference
+ * types are erased to {@code Object}, handles are expected to be called using
+ * {@code invokeExact} with {@code Object} arguments. Handles of fields which do not
+ * exist on current server version are {@code null}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class NMSHandles {
+
+    /** Entity packets */
+    public static final MethodHandle PacketPlayOutEntity_ENTITYID = ReflectionUtils.getter(NMSStorage.getInstance().PacketPlayOutEntity_ENTITYID);
+    public static final MethodHandle PacketPlayOutNamedEntitySpawn_ENTITYID = ReflectionUtils.getter(NMSStorage.getInstance().PacketPlayOutNamedEntitySpawn_ENTITYID);
+    public static final MethodHandle PacketPlayOutEntityTeleport_ENTITY_ID = ReflectionUtils.getter(PacketPlayOutEntityTeleportStorage.ENTITY_ID);
+    public static final MethodHandle PacketPlayOutEntityDestroy_ENTITIES = boxed(ReflectionUtils.getter(PacketPlayOutEntityDestroyStorage.ENTITIES));
+
+    /** Primitive access to fastutil IntList of destroyed entities on 1.17.1+ */
+    public static final MethodHandle IntList_size = intListMethod("size");
+    public static final MethodHandle IntList_getInt = intListMethod("getInt", int.class);
+
+    /** Scoreboard packets */
+    public static final MethodHandle DisplayObjective_POSITION = ReflectionUtils.getter(PacketScoreboard.DisplayObjective_POSITION);
+    public static final MethodHandle DisplayObjective_OBJECTIVE_NAME = ReflectionUtils.getter(PacketScoreboard.DisplayObjective_OBJECTIVE_NAME);
+    public static final MethodHandle Objective_METHOD = ReflectionUtils.getter(PacketScoreboard.Objective_METHOD);
+    public static final MethodHandle Objective_OBJECTIVE_NAME = ReflectionUtils.getter(PacketScoreboard.Objective_OBJECTIVE_NAME);
+    public static final MethodHandle TeamPacket_NAME = ReflectionUtils.getter(PacketScoreboard.TeamPacket_NAME);
+    public static final MethodHandle TeamPacket_ACTION = ReflectionUtils.getter(PacketScoreboard.TeamPacket_ACTION);
+    public static final MethodHandle TeamPacket_PLAYERS = ReflectionUtils.getter(PacketScoreboard.TeamPacket_PLAYERS);
+    public static final MethodHandle TeamPacket_PLAYERS_SET = ReflectionUtils.setter(PacketScoreboard.TeamPacket_PLAYERS);
+
+    /** Player info packet */
+    public static final MethodHandle PlayerInfo_ACTION = ReflectionUtils.getter(BukkitTabList.ACTION);
+    public static final MethodHandle PlayerInfo_PLAYERS = ReflectionUtils.getter(BukkitTabList.PLAYERS);
+    public static final MethodHandle PlayerInfo_PLAYERS_SET = ReflectionUtils.setter(BukkitTabList.PLAYERS);
+    public static final MethodHandle newPlayerInfoData = ReflectionUtils.handle(BukkitTabList.newPlayerInfoData);
+    public static final MethodHandle PlayerInfoData_getProfile = ReflectionUtils.handle(BukkitTabList.PlayerInfoData_getProfile);
+    public static final MethodHandle PlayerInfoData_DisplayName = ReflectionUtils.getter(BukkitTabList.PlayerInfoData_DisplayName);
+    public static final MethodHandle PlayerInfoData_DisplayName_SET = ReflectionUtils.setter(BukkitTabList.PlayerInfoData_DisplayName);
+    public static final MethodHandle PlayerInfoData_Latency = ReflectionUtils.getter(BukkitTabList.PlayerInfoData_Latency);
+    public static final MethodHandle PlayerInfoData_GameMode = ReflectionUtils.getter(BukkitTabList.PlayerInfoData_GameMode);
+    public static final MethodHandle PlayerInfoData_Listed = ReflectionUtils.getter(BukkitTabList.PlayerInfoData_Listed);
+    public static final MethodHandle PlayerInfoData_RemoteChatSession = ReflectionUtils.getter(BukkitTabList.PlayerInfoData_RemoteChatSession);
+
+    /**
+     * Returns method of the int list type used in entity destroy packet, or {@code null}
+     * if the packet does not use a list or the method does not exist.
+     *
+     * @param   name
+     *          Method name
+     * @param   parameterTypes
+     *          Method parameter types
+     * @return  Method handle of the method or {@code null} if not available
+     */
+    private static @Nullable MethodHandle intListMethod(@NotNull String name, @NotNull Class<?>... parameterTypes) {
+        Class<?> type = PacketPlayOutEntityDestroyStorage.ENTITIES.getType();
+        if (type.isPrimitive() || type.isArray()) return null;
+        try {
+            return ReflectionUtils.handle(type.getMethod(name, parameterTypes));
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Changes return type of getter handle to {@code Object}, boxing primitive values.
+     * Used for fields which are primitive on some versions and a reference on others,
+     * such as entity destroy packet's entities, which is a single {@code int} on 1.17.0.
+     *
+     * @param   getter
+     *          Getter handle to box
+     * @return  Handle with type {@code (Object)Object} or {@code null} if getter is {@code null}
+     */
+    private static @Nullable MethodHandle boxed(@Nullable MethodHandle getter) {
+        if (getter == null) return null;
+        return getter.asType(MethodType.methodType(Object.class, Object.class));
+    }
+}
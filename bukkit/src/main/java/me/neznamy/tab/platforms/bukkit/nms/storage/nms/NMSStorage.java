@@ -121,6 +121,7 @@ public abstract class NMSStorage {
         PacketPlayOutEntityDestroyStorage.load();
         PacketPlayOutEntityMetadataStorage.load(this);
         PacketPlayOutEntityTeleportStorage.load(this);
+        PacketPlayOutRelEntityMoveStorage.load(this);
         PacketPlayOutSpawnEntityLivingStorage.load(this);
         PacketScoreboard.load(this);
         PacketPlayOutEntity_ENTITYID = ReflectionUtils.getFields(PacketPlayOutEntity, int.class).get(0);
@@ -0,0 +1,102 @@
+package me.neznamy.tab.platforms.bukkit.nms.storage.packet;
+
+import lombok.SneakyThrows;
+import me.neznamy.tab.platforms.bukkit.nms.storage.nms.NMSStorage;
+import me.neznamy.tab.shared.backend.Location;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Custom class for holding data used in PacketPlayOutRelEntityMove minecraft packet.
+ */
+public class PacketPlayOutRelEntityMoveStorage {
+
+    /** NMS Fields */
+    public static Class<?> CLASS;
+    public static Constructor<?> CONSTRUCTOR;
+
+    /** Type of delta parameters in constructor, byte on 1.8, long on 1.9 - 1.13, short on 1.14+ */
+    private static Class<?> deltaType;
+
+    /** Amount of position units in 1 block */
+    private static int unitsPerBlock;
+
+    /** Maximum delta in position units allowed by the protocol */
+    private static int maxDelta;
+
+    /**
+     * Loads all required Fields and throws Exception if something went wrong
+     *
+     * @param   nms
+     *          NMS storage reference
+     * @throws  NoSuchMethodException
+     *          If something fails
+     */
+    public static void load(NMSStorage nms) throws NoSuchMethodException {
+        if (CLASS == null) return;
+        for (Constructor<?> constructor : CLASS.getConstructors()) {
+            Class<?>[] parameters = constructor.getParameterTypes();
+            if (parameters.length == 5 && parameters[0] == int.class && parameters[4] == boolean.class) {
+                CONSTRUCTOR = constructor;
+                deltaType = parameters[1];
+            }
+        }
+        if (CONSTRUCTOR == null) throw new NoSuchMethodException("No relative move constructor found in " + CLASS.getName());
+        if (nms.getMinorVersion() >= 9) {
+            unitsPerBlock = 4096;
+            maxDelta = Short.MAX_VALUE;
+        } else {
+            unitsPerBlock = 32;
+            maxDelta = Byte.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Returns {@code true} if relative move packet is available on this server version, {@code false} if not.
+     *
+     * @return  {@code true} if packet is available, {@code false} if not
+     */
+    public static boolean isAvailable() {
+        return CONSTRUCTOR != null;
+    }
+
+    /**
+     * Builds relative move packet moving entity between given locations.
+     * Returns {@code null} if distance is too large for the packet.
+     *
+     * @param   entityId
+     *          Entity id
+     * @param   from
+     *          Last location sent to the client
+     * @param   to
+     *          New location
+     * @return  NMS packet or {@code null} if distance is too large
+     */
+    @SneakyThrows
+    public static @Nullable Object build(int entityId, @NotNull Location from, @NotNull Location to) {
+        long x = encode(to.getX()) - encode(from.getX());
+        long y = encode(to.getY()) - encode(from.getY());
+        long z = encode(to.getZ()) - encode(from.getZ());
+        if (Math.abs(x) > maxDelta || Math.abs(y) > maxDelta || Math.abs(z) > maxDelta) return null;
+        if (deltaType == byte.class) {
+            return CONSTRUCTOR.newInstance(entityId, (byte) x, (byte) y, (byte) z, false);
+        }
+        if (deltaType == short.class) {
+            return CONSTRUCTOR.newInstance(entityId, (short) x, (short) y, (short) z, false);
+        }
+        return CONSTRUCTOR.newInstance(entityId, x, y, z, false);
+    }
+
+    /**
+     * Converts coordinate into position units the same way server does it.
+     *
+     * @param   coordinate
+     *          Coordinate to convert
+     * @return  Coordinate in position units
+     */
+    private static long encode(double coordinate) {
+        return (long) Math.floor(coordinate * unitsPerBlock);
+    }
+}
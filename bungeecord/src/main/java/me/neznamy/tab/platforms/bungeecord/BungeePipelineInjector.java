@@ -1,6 +1,5 @@
 package me.neznamy.tab.platforms.bungeecord;
 
-import com.google.common.collect.Lists;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelDuplexHandler;
@@ -9,15 +8,11 @@ import io.netty.channel.ChannelPromise;
 import java.lang.reflect.Field;
 
 import me.neznamy.tab.shared.features.nametags.NameTag;
-import me.neznamy.tab.shared.features.redis.RedisSupport;
-import me.neznamy.tab.shared.features.redis.feature.RedisTeams;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.injection.NettyPipelineInjector;
-import me.neznamy.tab.shared.features.redis.RedisPlayer;
-import me.neznamy.tab.shared.features.sorting.Sorting;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
 import net.md_5.bungee.connection.InitialHandler;
 import net.md_5.bungee.netty.ChannelWrapper;
@@ -26,6 +21,8 @@ import net.md_5.bungee.protocol.packet.*;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -82,23 +79,23 @@ public class BungeePipelineInjector extends NettyPipelineInjector {
     }
 
     @Override
-    public boolean isDisplayObjective(@NotNull Object packet) {
-        return packet instanceof ScoreboardDisplay;
+    public boolean isDisplayObjective(@NotNull Class<?> packetClass) {
+        return ScoreboardDisplay.class.isAssignableFrom(packetClass);
     }
 
     @Override
-    public boolean isObjective(@NotNull Object packet) {
-        return packet instanceof ScoreboardObjective;
+    public boolean isObjective(@NotNull Class<?> packetClass) {
+        return ScoreboardObjective.class.isAssignableFrom(packetClass);
     }
 
     @Override
-    public boolean isTeam(@NotNull Object packet) {
-        return packet instanceof Team;
+    public boolean isTeam(@NotNull Class<?> packetClass) {
+        return Team.class.isAssignableFrom(packetClass);
     }
 
     @Override
-    public boolean isPlayerInfo(@NotNull Object packet) {
-        return packet instanceof PlayerListItem || packet instanceof PlayerListItemUpdate;
+    public boolean isPlayerInfo(@NotNull Class<?> packetClass) {
+        return PlayerListItem.class.isAssignableFrom(packetClass) || PlayerListItemUpdate.class.isAssignableFrom(packetClass);
     }
 
     @Override
@@ -106,30 +103,19 @@ public class BungeePipelineInjector extends NettyPipelineInjector {
         if (TAB.getInstance().getNameTagManager() == null) return;
         Team packet = (Team) team;
         if (packet.getMode() == 1 || packet.getMode() == 2 || packet.getMode() == 4) return;
-        Collection<String> col = Lists.newArrayList(packet.getPlayers());
-        for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
-            Sorting sorting = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.SORTING);
-            String expectedTeam = sorting.getShortTeamName(p);
-            if (expectedTeam != null && col.contains(p.getName()) &&
-                    !((NameTag)TAB.getInstance().getNameTagManager()).getDisableChecker().isDisabledPlayer(p) &&
-                    !TAB.getInstance().getNameTagManager().hasTeamHandlingPaused(p) && !packet.getName().equals(expectedTeam)) {
-                logTeamOverride(packet.getName(), p.getName(), expectedTeam);
-                col.remove(p.getName());
+        NameTag nameTags = (NameTag) TAB.getInstance().getNameTagManager();
+        Collection<String> col = null;
+        String[] players = packet.getPlayers();
+        for (int i = 0; i < players.length; i++) {
+            String expectedTeam = nameTags.getExpectedTeam(players[i]);
+            if (expectedTeam != null && !packet.getName().equals(expectedTeam)) {
+                logTeamOverride(packet.getName(), players[i], expectedTeam);
+                if (col == null) col = new ArrayList<>(Arrays.asList(players).subList(0, i));
+            } else if (col != null) {
+                col.add(players[i]);
             }
         }
-        RedisSupport redis = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.REDIS_BUNGEE);
-        if (redis != null) {
-            RedisTeams teams = redis.getRedisTeams();
-            if (teams != null) {
-                for (RedisPlayer p : redis.getRedisPlayers().values()) {
-                    if (col.contains(p.getName()) && !packet.getName().equals(teams.getTeamNames().get(p))) {
-                        logTeamOverride(packet.getName(), p.getName(), teams.getTeamNames().get(p));
-                        col.remove(p.getName());
-                    }
-                }
-            }
-        }
-        packet.setPlayers(col.toArray(new String[0]));
+        if (col != null) packet.setPlayers(col.toArray(new String[0]));
     }
 
     @Override
@@ -167,6 +153,12 @@ public class BungeePipelineInjector extends NettyPipelineInjector {
      */
     public class DeserializableBungeeChannelDuplexHandler extends TabChannelDuplexHandler {
 
+        /** Protocol version {@link #packetTable} was built for */
+        private int tableVersion = -1;
+
+        /** Index into extra packet arrays by packet id, -1 if packet is not tracked */
+        private int[] packetTable = new int[0];
+
         /**
          * Constructs new instance with given player
          *
@@ -196,14 +188,14 @@ public class BungeePipelineInjector extends NettyPipelineInjector {
         private @NotNull Object deserialize(@NotNull ByteBuf buf) {
             int marker = buf.readerIndex();
             try {
-                int packetId = buf.readByte();
-                for (int i=0; i<extraPacketClasses.length; i++) {
-                    if (packetId == ((BungeeTabPlayer)player).getPacketId(extraPacketClasses[i])) {
-                        DefinedPacket packet = extraPacketSuppliers[i].get();
-                        packet.read(buf, null, ((ProxiedPlayer)player.getPlayer()).getPendingConnection().getVersion());
-                        buf.release();
-                        return packet;
-                    }
+                int version = ((ProxiedPlayer)player.getPlayer()).getPendingConnection().getVersion();
+                if (version != tableVersion) buildPacketTable(version);
+                int packetId = DefinedPacket.readVarInt(buf);
+                if (packetId >= 0 && packetId < packetTable.length && packetTable[packetId] != -1) {
+                    DefinedPacket packet = extraPacketSuppliers[packetTable[packetId]].get();
+                    packet.read(buf, null, version);
+                    buf.release();
+                    return packet;
                 }
             } catch (Exception e) {
                 //rare OverflowPacketException or IndexOutOfBoundsException
@@ -211,5 +203,28 @@ public class BungeePipelineInjector extends NettyPipelineInjector {
             buf.readerIndex(marker);
             return buf;
         }
+
+        /**
+         * Builds packet id lookup table for given protocol version. Protocol version may
+         * change when ViaVersion is installed on BungeeCord, so it is rebuilt on change.
+         *
+         * @param   version
+         *          Protocol version to build table for
+         */
+        private void buildPacketTable(int version) {
+            int[] ids = new int[extraPacketClasses.length];
+            int maxId = -1;
+            for (int i=0; i<extraPacketClasses.length; i++) {
+                ids[i] = ((BungeeTabPlayer)player).getPacketId(extraPacketClasses[i]);
+                maxId = Math.max(maxId, ids[i]);
+            }
+            int[] table = new int[maxId+1];
+            Arrays.fill(table, -1);
+            for (int i=0; i<ids.length; i++) {
+                if (ids[i] != -1) table[ids[i]] = i;
+            }
+            packetTable = table;
+            tableVersion = version;
+        }
     }
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package me.neznamy.tab.shared;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -41,6 +43,9 @@ public class FeatureManager {
     @NotNull
     @Getter private TabFeature[] values = new TabFeature[0];
 
+    /** Packet send listeners interested in each packet class, recreated when features change */
+    @NotNull private volatile ClassValue<TabFeature[]> packetSendListeners = createPacketSendListenerCache();
+
     /**
      * Calls load() on all features.
      * This function is called on plugin startup.
@@ -196,8 +201,7 @@ public class FeatureManager {
      *          OUT packet coming from the server
      */
     public void onPacketSend(@NotNull TabPlayer receiver, @NotNull Object packet) {
-        for (TabFeature f : values) {
-            if (!(f instanceof PacketSendListener)) continue;
+        for (TabFeature f : packetSendListeners.get(packet.getClass())) {
             long time = System.nanoTime();
             ((PacketSendListener)f).onPacketSend(receiver, packet);
             TAB.getInstance().getCPUManager().addTime(f, TabConstants.CpuUsageCategory.RAW_PACKET_OUT, System.nanoTime()-time);
@@ -251,9 +255,31 @@ public class FeatureManager {
         }
     }
 
+    /**
+     * Creates new cache of packet send listeners which resolves listeners
+     * interested in a packet class when the class is first seen.
+     *
+     * @return  new cache of packet send listeners
+     */
+    private @NotNull ClassValue<TabFeature[]> createPacketSendListenerCache() {
+        TabFeature[] features = values;
+        return new ClassValue<TabFeature[]>() {
+
+            @Override
+            protected TabFeature[] computeValue(Class<?> packetClass) {
+                List<TabFeature> listeners = new ArrayList<>();
+                for (TabFeature f : features) {
+                    if (f instanceof PacketSendListener && ((PacketSendListener) f).isListeningTo(packetClass)) listeners.add(f);
+                }
+                return listeners.toArray(new TabFeature[0]);
+            }
+        };
+    }
+
     public void registerFeature(@NotNull String featureName, @NotNull TabFeature featureHandler) {
         features.put(featureName, featureHandler);
         values = features.values().toArray(new TabFeature[0]);
+        packetSendListeners = createPacketSendListenerCache();
         if (featureHandler instanceof VanishListener) {
             TAB.getInstance().getPlaceholderManager().addUsedPlaceholders(Collections.singletonList(TabConstants.Placeholder.VANISHED));
         }
@@ -265,6 +291,7 @@ public class FeatureManager {
     public void unregisterFeature(@NotNull String featureName) {
         features.remove(featureName);
         values = features.values().toArray(new TabFeature[0]);
+        packetSendListeners = createPacketSendListenerCache();
     }
 
     public boolean isFeatureEnabled(@NotNull String name) {
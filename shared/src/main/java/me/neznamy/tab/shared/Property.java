@@ -229,6 +229,16 @@ public class Property {
         return lastReplacedValue;
     }
 
+    /**
+     * Returns {@code true} if this text contains relational placeholders and therefore
+     * may be different for each viewer, {@code false} if not.
+     *
+     * @return  {@code true} if text contains relational placeholders, {@code false} if not
+     */
+    public boolean hasRelationalPlaceholders() {
+        return relPlaceholders.length > 0;
+    }
+
     /**
      * Returns value for defined viewer by applying relational placeholders to last known value
      *
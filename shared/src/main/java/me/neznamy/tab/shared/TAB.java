@@ -20,12 +20,14 @@ import me.neznamy.tab.shared.config.Configs;
 import me.neznamy.tab.shared.event.EventBusImpl;
 import me.neznamy.tab.shared.event.impl.TabLoadEventImpl;
 import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
+import me.neznamy.tab.shared.features.PlayerCounter;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.yaml.snakeyaml.error.YAMLException;
 
 import java.io.File;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
@@ -43,6 +45,9 @@ public class TAB extends TabAPI {
 
     /** Players by their TabList UUID for faster lookup */
     private final Map<UUID, TabPlayer> playersByTabListId = new ConcurrentHashMap<>();
+
+    /** Players by their lowercase name for faster case-insensitive lookup */
+    private final Map<String, TabPlayer> playersByLowercaseName = new ConcurrentHashMap<>();
     
     /** Online player array to avoid memory allocation when iterating */
     @Getter private volatile TabPlayer[] onlinePlayers = new TabPlayer[0];
@@ -145,10 +150,13 @@ public class TAB extends TabAPI {
             long time = System.currentTimeMillis();
             cpu = new CpuManager();
             configuration = new Configs();
+            IChatBaseComponent.setCacheSizes(configuration.getStringCacheSize(),
+                    configuration.getSerializeCacheSize(), configuration.getBungeeCacheSize());
             featureManager = new FeatureManager();
             featureManager.registerFeature(TabConstants.Feature.PLACEHOLDER_MANAGER, new PlaceholderManagerImpl());
             featureManager.registerFeature(TabConstants.Feature.GROUP_MANAGER, platform.detectPermissionPlugin());
             platform.registerPlaceholders();
+            featureManager.registerFeature(TabConstants.Feature.PLAYER_COUNTER, new PlayerCounter());
             featureManager.loadFeaturesFromConfig();
             platform.loadPlayers();
             command = new TabCommand();
@@ -197,6 +205,7 @@ public class TAB extends TabAPI {
         pluginDisabled = true;
         data.clear();
         playersByTabListId.clear();
+        playersByLowercaseName.clear();
         onlinePlayers = new TabPlayer[0];
         cpu.cancelAllTasks();
     }
@@ -210,6 +219,7 @@ public class TAB extends TabAPI {
     public void addPlayer(@NotNull TabPlayer player) {
         data.put(player.getUniqueId(), player);
         playersByTabListId.put(player.getTablistId(), player);
+        playersByLowercaseName.put(player.getName().toLowerCase(Locale.US), player);
         onlinePlayers = data.values().toArray(new TabPlayer[0]);
     }
 
@@ -222,6 +232,7 @@ public class TAB extends TabAPI {
     public void removePlayer(@NotNull TabPlayer player) {
         data.remove(player.getUniqueId());
         playersByTabListId.remove(player.getTablistId());
+        playersByLowercaseName.remove(player.getName().toLowerCase(Locale.US), player);
         onlinePlayers = data.values().toArray(new TabPlayer[0]);
     }
 
@@ -266,10 +277,7 @@ public class TAB extends TabAPI {
 
     @Override
     public @Nullable TabPlayer getPlayer(@NotNull String name) {
-        for (TabPlayer p : data.values()) {
-            if (p.getName().equalsIgnoreCase(name)) return p;
-        }
-        return null;
+        return playersByLowercaseName.get(name.toLowerCase(Locale.US));
     }
 
     @Override
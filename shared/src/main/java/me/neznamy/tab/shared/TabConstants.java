@@ -40,15 +40,18 @@ public class TabConstants {
         public static final String COMMAND_PREPROCESS = "Command Preprocess";
         public static final String PLAYER_SNEAK = "Player Sneak";
         public static final String PLAYER_RESPAWN = "Player Respawn";
+        public static final String VEHICLE_CHANGE = "Vehicle enter / exit";
         public static final String PLUGIN_MESSAGE = "PluginMessageEvent";
         public static final String REDIS_BUNGEE_MESSAGE = "PubSubMessageEvent";
         public static final String VANISH_CHANGE = "Vanish status change";
         public static final String ANTI_OVERRIDE = "Anti override";
+        public static final String SKIN_DOWNLOAD = "Skin download";
+        public static final String TEAM_NAME_UPDATE = "Team name update";
+        public static final String LAYOUT_CHANGE = "Layout change";
 
         public static final String BYTE_BUF = "ByteBuf";
         public static final String PACKET_PLAYER_INFO = "PacketPlayOutPlayerInfo";
         public static final String PACKET_ENTITY_MOVE = "PacketPlayOutEntity";
-        public static final String PACKET_ENTITY_MOVE_PASSENGER = "PacketPlayOutEntity (passenger)";
         public static final String PACKET_ENTITY_SPAWN = "PacketPlayOutNamedEntitySpawn";
         public static final String PACKET_ENTITY_DESTROY = "PacketPlayOutEntityDestroy";
         public static final String RAW_PACKET_OUT = "Packet reading (out)";
@@ -189,9 +192,11 @@ public class TabConstants {
         public static final String NAME_TAGS_VISIBILITY = "NameTagVisibility";
         public static final String GROUP_MANAGER = "GroupManager";
         public static final String PLACEHOLDER_MANAGER = "PlaceholderManager";
+        public static final String PLAYER_COUNTER = "PlayerCounter";
         public static final String UNLIMITED_NAME_TAGS = "NameTagX";
         public static final String UNLIMITED_NAME_TAGS_PACKET_LISTENER = "nametagx-packet";
         public static final String UNLIMITED_NAME_TAGS_VEHICLE_REFRESHER = "nametagx-vehicle";
+        public static final String UNLIMITED_NAME_TAGS_VISIBILITY_REFRESHER = "nametagx-visibility";
 
         //Bukkit only
         public static final String PER_WORLD_PLAYER_LIST = "PerWorldPlayerList";
@@ -272,6 +277,7 @@ public class TabConstants {
         // Placeholders for internal use
         public static final String COLLISION = "%collision%";
         public static final String INVISIBLE = "%invisible%";
+        public static final String DISGUISED = "%disguised%";
         public static final String VEHICLE = "%vehicle%";
 
         // Bukkit only
@@ -28,5 +28,20 @@ public abstract class BackendTabPlayer extends TabPlayer {
 
     public abstract void teleportEntity(int entityId, @NotNull Location location);
 
+    /**
+     * Sends relative move packet of entity from previously sent location to new location.
+     * If the distance does not fit into the packet or the packet is not supported,
+     * nothing is sent and {@code false} is returned.
+     *
+     * @param   entityId
+     *          Entity id
+     * @param   from
+     *          Location previously sent to this player
+     * @param   to
+     *          New location
+     * @return  {@code true} if packet was sent, {@code false} if teleport must be used instead
+     */
+    public abstract boolean moveEntity(int entityId, @NotNull Location from, @NotNull Location to);
+
     public abstract void destroyEntities(int... entities);
 }
@@ -1,22 +1,29 @@
 package me.neznamy.tab.shared.backend.features.unlimitedtags;
 
 import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
 import me.neznamy.tab.shared.Property;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
-import me.neznamy.tab.shared.chat.IChatBaseComponent;
+import me.neznamy.tab.shared.chat.ColoredTextTokenizer;
 import me.neznamy.tab.shared.backend.BackendTabPlayer;
 import me.neznamy.tab.shared.backend.EntityData;
 import me.neznamy.tab.shared.backend.Location;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ArmorStand {
 
     /** Entity id counter to pick unique entity ID for each armor stand */
     private static int idCounter = 2000000000;
 
+    /** Amount of relative moves after which a full teleport is sent to fix possible de-sync */
+    private static final int RESYNC_INTERVAL = 20;
+
     /** NameTag feature */
     protected final BackendNameTagX manager;
 
@@ -47,6 +54,9 @@ public class ArmorStand {
     /** Refresh property dedicated to this armor stand */
     @Getter protected final Property property;
 
+    /** Last location sent to each viewer, used for relative moves */
+    private final Map<BackendTabPlayer, SentLocation> sentLocations = new ConcurrentHashMap<>();
+
     /**
      * Constructs new instance with given parameters.
      *
@@ -110,9 +120,26 @@ public class ArmorStand {
 
     public void spawn(BackendTabPlayer viewer) {
         visible = calculateVisibility();
-        viewer.spawnEntity(entityId, uuid, manager.getArmorStandType(),
-                new Location(manager.getX(owner), getYLocation(viewer), manager.getZ(owner), 0, 0),
-                createDataWatcher(property.getFormat(viewer), viewer));
+        Location location = new Location(manager.getX(owner), getYLocation(viewer), manager.getZ(owner), 0, 0);
+        if (manager.isRelativeMoves()) sentLocations.put(viewer, new SentLocation(location));
+        viewer.spawnEntity(entityId, uuid, manager.getArmorStandType(), location, createDataWatcher(property.getFormat(viewer), viewer));
+    }
+
+    /**
+     * Forgets location sent to viewer after the armor stand was destroyed for them.
+     *
+     * @param   viewer
+     *          Viewer who no longer sees the armor stand
+     */
+    public void removeViewer(@NotNull BackendTabPlayer viewer) {
+        sentLocations.remove(viewer);
+    }
+
+    /**
+     * Forgets locations sent to all viewers after the armor stand was destroyed for everyone.
+     */
+    public void removeViewers() {
+        sentLocations.clear();
     }
 
     /**
@@ -138,7 +165,7 @@ public class ArmorStand {
     protected boolean isNameVisiblyEmpty(@NotNull String displayName) {
         if (displayName.length() == 0) return true;
         if (!displayName.startsWith(EnumChatFormat.COLOR_STRING) && !displayName.startsWith("&") && !displayName.startsWith("#")) return false;
-        String text = IChatBaseComponent.fromColoredText(displayName).toRawText();
+        String text = ColoredTextTokenizer.toRawText(displayName);
         if (text.contains(" ")) text = text.replace(" ", "");
         return text.length() == 0;
     }
@@ -189,8 +216,29 @@ public class ArmorStand {
                 (owner.hasInvisibilityPotion() && viewer.getGamemode() != 3);
     }
 
+    /**
+     * Moves armor stand to its current location for viewer. If relative moves are enabled
+     * and the distance from last sent location is small enough, relative move packet is sent,
+     * otherwise the armor stand is teleported.
+     *
+     * @param   viewer
+     *          Viewer to send packet to
+     */
     public void sendTeleportPacket(@NotNull BackendTabPlayer viewer) {
-        viewer.teleportEntity(entityId, new Location(manager.getX(owner), getYLocation(viewer), manager.getZ(owner), 0, 0));
+        Location location = new Location(manager.getX(owner), getYLocation(viewer), manager.getZ(owner), 0, 0);
+        if (manager.isRelativeMoves()) {
+            SentLocation sent = sentLocations.get(viewer);
+            if (sent != null && sent.relativeMoves < RESYNC_INTERVAL) {
+                if (sent.location.equals(location)) return;
+                if (viewer.moveEntity(entityId, sent.location, location)) {
+                    sent.location = location;
+                    sent.relativeMoves++;
+                    return;
+                }
+            }
+            sentLocations.put(viewer, new SentLocation(location));
+        }
+        viewer.teleportEntity(entityId, location);
     }
 
     /**
@@ -245,4 +293,17 @@ public class ArmorStand {
         y += getYAdd(manager.isSleeping(owner), manager.isSneaking(owner), viewer);
         return y;
     }
+
+    /**
+     * Location last sent to a viewer.
+     */
+    @RequiredArgsConstructor
+    private static class SentLocation {
+
+        /** Location the viewer's client knows */
+        @NonNull private Location location;
+
+        /** Amount of relative moves sent since last full teleport */
+        private int relativeMoves;
+    }
 }
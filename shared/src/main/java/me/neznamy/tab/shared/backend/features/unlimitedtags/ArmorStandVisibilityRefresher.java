@@ -0,0 +1,51 @@
+package me.neznamy.tab.shared.backend.features.unlimitedtags;
+
+import lombok.Getter;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.features.types.Refreshable;
+import me.neznamy.tab.shared.features.types.TabFeature;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+
+/**
+ * Sub-feature for unlimited name tag mode recalculating armor stand visibility
+ * only for players whose visibility inputs changed. Changes of invisibility potion,
+ * disguise and game mode are detected by placeholders, which only refresh
+ * affected players.
+ */
+public class ArmorStandVisibilityRefresher extends TabFeature implements Refreshable {
+
+    @Getter private final String featureName = "Unlimited NameTags";
+    @Getter private final String refreshDisplayName = "Refreshing armor stand visibility";
+
+    /** Reference to the main feature */
+    private final BackendNameTagX feature;
+
+    /**
+     * Constructs new instance and registers placeholders used for detecting changes.
+     * {@code %invisible%} is reused if name tag visibility refresher already registered it.
+     *
+     * @param   feature
+     *          Main feature
+     */
+    public ArmorStandVisibilityRefresher(@NotNull BackendNameTagX feature) {
+        this.feature = feature;
+        if (!TAB.getInstance().getPlaceholderManager().getRegisteredPlaceholders().containsKey(TabConstants.Placeholder.INVISIBLE)) {
+            TAB.getInstance().getPlaceholderManager().registerPlayerPlaceholder(TabConstants.Placeholder.INVISIBLE, 500,
+                    p -> ((TabPlayer)p).hasInvisibilityPotion());
+        }
+        TAB.getInstance().getPlaceholderManager().registerPlayerPlaceholder(TabConstants.Placeholder.DISGUISED, 500,
+                p -> ((TabPlayer)p).isDisguised());
+        addUsedPlaceholders(Arrays.asList(TabConstants.Placeholder.INVISIBLE, TabConstants.Placeholder.DISGUISED,
+                TabConstants.Placeholder.GAMEMODE));
+    }
+
+    @Override
+    public void refresh(@NotNull TabPlayer p, boolean force) {
+        if (feature.isPlayerDisabled(p)) return;
+        feature.getArmorStandManager(p).updateVisibility(false);
+    }
+}
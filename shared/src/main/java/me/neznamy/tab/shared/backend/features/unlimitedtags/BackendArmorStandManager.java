@@ -159,6 +159,7 @@ public class BackendArmorStandManager implements ArmorStandManager {
      */
     public void unregisterPlayer(@NotNull BackendTabPlayer viewer) {
         if (nearbyPlayerList.remove(viewer)) nearbyPlayers = nearbyPlayerList.toArray(new BackendTabPlayer[0]);
+        for (ArmorStand a : armorStandArray) a.removeViewer(viewer);
     }
 
     public void updateVisibility(boolean force) {
@@ -187,6 +188,7 @@ public class BackendArmorStandManager implements ArmorStandManager {
         }
         nearbyPlayerList.clear();
         nearbyPlayers = new BackendTabPlayer[0];
+        for (ArmorStand a : armorStandArray) a.removeViewers();
     }
 
     @Override
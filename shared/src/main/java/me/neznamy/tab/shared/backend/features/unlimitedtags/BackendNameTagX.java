@@ -1,6 +1,7 @@
 package me.neznamy.tab.shared.backend.features.unlimitedtags;
 
 import lombok.Getter;
+import lombok.NonNull;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.features.types.GameModeListener;
@@ -11,8 +12,6 @@ import me.neznamy.tab.shared.features.nametags.unlimited.NameTagX;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.List;
-
 public abstract class BackendNameTagX extends NameTagX implements GameModeListener {
 
     /** Vehicle manager reference */
@@ -21,17 +20,33 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
     /** Packet Listener reference */
     protected final PacketListener packetListener = new PacketListener(this);
 
+    /** Grid of player positions for finding nearby players */
+    @Getter private final PlayerGrid playerGrid = new PlayerGrid();
+
+    /** Whether armor stands should be moved using relative move packets when possible or not */
+    @Getter private final boolean relativeMoves = TAB.getInstance().getConfiguration().getSecretOption(
+            "scoreboard-teams.unlimited-nametag-mode.use-relative-moves", true);
+
+    /**
+     * Interval of checking visibility of all armor stands in milliseconds, 0 or less to disable.
+     * Changes are detected by {@link ArmorStandVisibilityRefresher}, this is only a safety net.
+     */
+    private final int visibilityRefreshInterval = TAB.getInstance().getConfiguration().getSecretOption(
+            "scoreboard-teams.unlimited-nametag-mode.visibility-refresh-interval", 5000);
+
     public BackendNameTagX() {
         super(BackendArmorStandManager::new);
         TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.UNLIMITED_NAME_TAGS_VEHICLE_REFRESHER, vehicleManager);
         TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.UNLIMITED_NAME_TAGS_PACKET_LISTENER, packetListener);
+        TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.UNLIMITED_NAME_TAGS_VISIBILITY_REFRESHER, new ArmorStandVisibilityRefresher(this));
     }
 
     /**
      * Starts task checking for player visibility to hide armor stands of invisible players.
      */
     private void startVisibilityRefreshTask() {
-        TAB.getInstance().getCPUManager().startRepeatingMeasuredTask(500, featureName, TabConstants.CpuUsageCategory.REFRESHING_NAME_TAG_VISIBILITY, () -> {
+        if (visibilityRefreshInterval <= 0) return;
+        TAB.getInstance().getCPUManager().startRepeatingMeasuredTask(visibilityRefreshInterval, featureName, TabConstants.CpuUsageCategory.REFRESHING_NAME_TAG_VISIBILITY, () -> {
 
             for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
                 if (isPlayerDisabled(p)) continue;
@@ -48,9 +63,12 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
     @Override
     public void load() {
         super.load();
+        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            updatePosition(all);
+        }
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             if (isPlayerDisabled(all)) continue;
-            for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+            for (TabPlayer viewer : playerGrid.getNearbyPlayers(all)) {
                 spawnArmorStands(viewer, all);
             }
         }
@@ -66,8 +84,9 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
     @Override
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
         super.onJoin(connectedPlayer);
+        updatePosition(connectedPlayer);
         if (isPlayerDisabled(connectedPlayer)) return;
-        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+        for (TabPlayer viewer : playerGrid.getNearbyPlayers(connectedPlayer)) {
             spawnArmorStands(viewer, connectedPlayer);
             spawnArmorStands(connectedPlayer, viewer);
         }
@@ -92,13 +111,14 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
         if (viewer.getVersion().getMinorVersion() < 8) return;
         if (target == viewer || isPlayerDisabled(target)) return;
         if (!areInSameWorld(viewer, target)) return;
-        if (getDistance(viewer, target) <= 48 && canSee(viewer, target) && !target.isVanished())
+        if (getDistanceSquared(viewer, target) <= 48*48 && canSee(viewer, target) && !target.isVanished())
             getArmorStandManager(target).spawn((BackendTabPlayer) viewer);
     }
 
     @Override
     public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
         super.onQuit(disconnectedPlayer);
+        playerGrid.remove(disconnectedPlayer);
         for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
             getArmorStandManager(all).unregisterPlayer((BackendTabPlayer) disconnectedPlayer);
         }
@@ -109,11 +129,23 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
     @Override
     public void resumeArmorStands(@NotNull TabPlayer player) {
         if (isPlayerDisabled(player)) return;
-        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+        for (TabPlayer viewer : playerGrid.getNearbyPlayers(player)) {
             spawnArmorStands(viewer, player);
         }
     }
 
+    @Override
+    public void hideNameTag(@NonNull me.neznamy.tab.api.TabPlayer player) {
+        super.hideNameTag(player);
+        if (!isPlayerDisabled((TabPlayer) player)) getArmorStandManager((TabPlayer) player).updateVisibility(false);
+    }
+
+    @Override
+    public void showNameTag(@NonNull me.neznamy.tab.api.TabPlayer player) {
+        super.showNameTag(player);
+        if (!isPlayerDisabled((TabPlayer) player)) getArmorStandManager((TabPlayer) player).updateVisibility(false);
+    }
+
     @Override
     public void setNameTagPreview(@NotNull TabPlayer player, boolean status) {
         if (status) {
@@ -138,6 +170,7 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
     @Override
     public void onWorldChange(@NotNull TabPlayer p, @NotNull String from, @NotNull String to) {
         super.onWorldChange(p, from, to);
+        updatePosition(p);
         if (isPreviewingNameTag(p)) {
             getArmorStandManager(p).spawn((BackendTabPlayer) p);
         }
@@ -161,15 +194,25 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
     }
 
     /**
-     * Returns flat distance between two players ignoring Y value
+     * Updates position of player in {@link #playerGrid} to player's current location.
+     *
+     * @param   player
+     *          Player to update position of
+     */
+    public void updatePosition(@NotNull TabPlayer player) {
+        playerGrid.update(player, player.getWorld(), getX(player), getZ(player));
+    }
+
+    /**
+     * Returns squared flat distance between two players ignoring Y value
      *
      * @param   player1
      *          first player
      * @param   player2
      *          second player
-     * @return  flat distance in blocks
+     * @return  squared flat distance in blocks
      */
-    public abstract double getDistance(@NotNull TabPlayer player1, @NotNull TabPlayer player2);
+    public abstract double getDistanceSquared(@NotNull TabPlayer player1, @NotNull TabPlayer player2);
 
     public abstract boolean areInSameWorld(@NotNull TabPlayer player1, @NotNull TabPlayer player2);
 
@@ -177,7 +220,7 @@ public abstract class BackendNameTagX extends NameTagX implements GameModeListen
 
     public abstract void unregisterListener();
 
-    public abstract @NotNull List<Integer> getPassengers(@NotNull Object vehicle);
+    public abstract @NotNull int[] getPassengers(@NotNull Object vehicle);
 
     public abstract @Nullable Object getVehicle(@NotNull TabPlayer player);
 
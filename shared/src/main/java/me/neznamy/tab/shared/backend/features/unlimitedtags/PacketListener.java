@@ -10,12 +10,12 @@ import me.neznamy.tab.shared.features.types.TabFeature;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.backend.BackendTabPlayer;
+import me.neznamy.tab.shared.util.IntObjectMap;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * The packet listening part for securing proper functionality of armor stands.
@@ -33,7 +33,13 @@ public class PacketListener extends TabFeature implements JoinListener, QuitList
     protected final BackendNameTagX nameTagX;
 
     /** A player map by entity id, used for better performance */
-    private final Map<Integer, TabPlayer> entityIdMap = new ConcurrentHashMap<>();
+    private final IntObjectMap<TabPlayer> entityIdMap = new IntObjectMap<>();
+
+    /** Viewers who should receive teleport of armor stands of each player in the next flush */
+    private final Map<TabPlayer, Set<BackendTabPlayer>> pendingTeleports = new ConcurrentHashMap<>();
+
+    /** Whether a flush of pending teleports is already queued or not */
+    private final AtomicBoolean flushQueued = new AtomicBoolean();
 
     @Override
     public void load() {
@@ -50,6 +56,10 @@ public class PacketListener extends TabFeature implements JoinListener, QuitList
     @Override
     public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
         entityIdMap.remove(nameTagX.getEntityId(disconnectedPlayer));
+        pendingTeleports.remove(disconnectedPlayer);
+        for (Set<BackendTabPlayer> viewers : pendingTeleports.values()) {
+            viewers.remove(disconnectedPlayer);
+        }
     }
 
     /**
@@ -73,7 +83,9 @@ public class PacketListener extends TabFeature implements JoinListener, QuitList
      * Processes entity move packet. If entity ID belongs to a player,
      * armor stands of that player are teleported to player who received the packet.
      * If it belongs to a vehicle carrying a player, that player's armor stands are
-     * teleported as well.
+     * teleported as well. Teleports are not sent immediately, but collected and
+     * sent together by a single task, sending each teleport only once even if
+     * more move packets arrived in the meantime.
      *
      * @param   receiver
      *          packet receiver
@@ -85,20 +97,62 @@ public class PacketListener extends TabFeature implements JoinListener, QuitList
         if (pl != null) {
             //player moved
             if (nameTagX.isPlayerDisabled(pl) || !pl.isLoaded()) return;
-            TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE,
-                    () -> nameTagX.getArmorStandManager(pl).teleport(receiver));
+            queueTeleport(pl, receiver);
         } else {
             //a vehicle carrying something moved
-            for (Integer entity : nameTagX.getVehicleManager().getVehicles().getOrDefault(entityId, Collections.emptyList())) {
+            int[] passengers = nameTagX.getVehicleManager().getVehicles().get(entityId);
+            if (passengers == null) return;
+            for (int entity : passengers) {
                 TabPlayer passenger = entityIdMap.get(entity);
                 if (passenger != null && nameTagX.getArmorStandManager(passenger) != null) {
-                    TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE_PASSENGER,
-                            () -> nameTagX.getArmorStandManager(passenger).teleport(receiver));
+                    queueTeleport(passenger, receiver);
                 }
             }
         }
     }
 
+    /**
+     * Queues teleport of armor stands of player for viewer and queues a flush
+     * if one is not queued already. Move packets may still be processed after
+     * owner or viewer quit, such teleports are ignored, so they do not put the
+     * player back into pending teleports.
+     *
+     * @param   owner
+     *          Owner of armor stands
+     * @param   viewer
+     *          Player to send teleport to
+     */
+    private void queueTeleport(@NotNull TabPlayer owner, @NotNull BackendTabPlayer viewer) {
+        if (!owner.isOnline() || !viewer.isOnline()) return;
+        pendingTeleports.computeIfAbsent(owner, p -> ConcurrentHashMap.newKeySet()).add(viewer);
+        if (flushQueued.compareAndSet(false, true)) {
+            TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.PACKET_ENTITY_MOVE, this::flushTeleports);
+        }
+    }
+
+    /**
+     * Sends all queued teleports. Teleports queued while this is running
+     * are either sent now or in the next flush. Entries of owners who went
+     * offline in the meantime are removed.
+     */
+    private void flushTeleports() {
+        flushQueued.set(false);
+        for (Map.Entry<TabPlayer, Set<BackendTabPlayer>> entry : pendingTeleports.entrySet()) {
+            TabPlayer owner = entry.getKey();
+            if (!owner.isOnline()) {
+                pendingTeleports.remove(owner);
+                continue;
+            }
+            BackendArmorStandManager asm = nameTagX.getArmorStandManager(owner);
+            Iterator<BackendTabPlayer> viewers = entry.getValue().iterator();
+            while (viewers.hasNext()) {
+                BackendTabPlayer viewer = viewers.next();
+                viewers.remove();
+                if (asm != null && viewer.isOnline() && !nameTagX.isPlayerDisabled(owner)) asm.teleport(viewer);
+            }
+        }
+    }
+
     /**
      * Processes entity destroy packet and destroys armor stands if
      * entity ID belongs to an online player.
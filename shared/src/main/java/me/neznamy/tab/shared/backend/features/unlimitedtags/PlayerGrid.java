@@ -0,0 +1,155 @@
+package me.neznamy.tab.shared.backend.features.unlimitedtags;
+
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Per-world spatial hash grid of player positions. Players are put into square
+ * cells based on their X and Z coordinates, so that players near a location can
+ * be found by only checking the neighbouring cells instead of all online players.
+ * <p>
+ * Cells are larger than the armor stand spawn distance, therefore the 3x3
+ * neighbourhood of a cell always contains all players in range. Callers are
+ * still expected to check the exact distance of returned players.
+ */
+public class PlayerGrid {
+
+    /** Cell size as a power of 2, 64 blocks */
+    private static final int CELL_SHIFT = 6;
+
+    /** Players in each cell by world name and cell key */
+    private final Map<String, Map<Long, Set<TabPlayer>>> worlds = new ConcurrentHashMap<>();
+
+    /** Current cell of each player */
+    private final Map<TabPlayer, Cell> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Updates position of player. If the player did not move into another cell,
+     * nothing happens.
+     *
+     * @param   player
+     *          Player who moved
+     * @param   world
+     *          World the player is in
+     * @param   x
+     *          New X coordinate
+     * @param   z
+     *          New Z coordinate
+     */
+    public void update(@NotNull TabPlayer player, @NotNull String world, double x, double z) {
+        int cellX = (int) Math.floor(x) >> CELL_SHIFT;
+        int cellZ = (int) Math.floor(z) >> CELL_SHIFT;
+        Cell current = cells.get(player);
+        if (current != null && current.x == cellX && current.z == cellZ && current.world.equals(world)) return;
+        synchronized (this) {
+            remove(player);
+            Cell cell = new Cell(world, cellX, cellZ);
+            cells.put(player, cell);
+            worlds.computeIfAbsent(world, w -> new ConcurrentHashMap<>())
+                    .computeIfAbsent(cell.key(), k -> ConcurrentHashMap.newKeySet()).add(player);
+        }
+    }
+
+    /**
+     * Updates position of player if the player is already in the grid. This is used for
+     * movement events, which may still be fired for players who just left.
+     *
+     * @param   player
+     *          Player who moved
+     * @param   world
+     *          World the player is in
+     * @param   x
+     *          New X coordinate
+     * @param   z
+     *          New Z coordinate
+     */
+    public void move(@NotNull TabPlayer player, @NotNull String world, double x, double z) {
+        if (!cells.containsKey(player)) return;
+        synchronized (this) {
+            if (cells.containsKey(player)) update(player, world, x, z);
+        }
+    }
+
+    /**
+     * Removes player from the grid.
+     *
+     * @param   player
+     *          Player to remove
+     */
+    public synchronized void remove(@NotNull TabPlayer player) {
+        Cell cell = cells.remove(player);
+        if (cell == null) return;
+        Map<Long, Set<TabPlayer>> world = worlds.get(cell.world);
+        if (world == null) return;
+        Set<TabPlayer> players = world.get(cell.key());
+        if (players == null) return;
+        players.remove(player);
+        if (players.isEmpty()) world.remove(cell.key());
+    }
+
+    /**
+     * Returns all players in the same or neighbouring cells as given player, excluding
+     * the player. If player is not in the grid, empty list is returned.
+     *
+     * @param   player
+     *          Player to get nearby players of
+     * @return  Players who may be in range of given player
+     */
+    public @NotNull List<TabPlayer> getNearbyPlayers(@NotNull TabPlayer player) {
+        Cell cell = cells.get(player);
+        if (cell == null) return Collections.emptyList();
+        Map<Long, Set<TabPlayer>> world = worlds.get(cell.world);
+        if (world == null) return Collections.emptyList();
+        List<TabPlayer> nearby = new ArrayList<>();
+        for (int x = cell.x - 1; x <= cell.x + 1; x++) {
+            for (int z = cell.z - 1; z <= cell.z + 1; z++) {
+                Set<TabPlayer> players = world.get(key(x, z));
+                if (players == null) continue;
+                for (TabPlayer p : players) {
+                    if (p != player) nearby.add(p);
+                }
+            }
+        }
+        return nearby;
+    }
+
+    /**
+     * Removes all players from the grid.
+     */
+    public synchronized void clear() {
+        worlds.clear();
+        cells.clear();
+    }
+
+    /**
+     * Packs cell coordinates into a single key.
+     *
+     * @param   x
+     *          Cell X
+     * @param   z
+     *          Cell Z
+     * @return  Cell key
+     */
+    private static long key(int x, int z) {
+        return ((long) x << 32) | (z & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Cell of a player.
+     */
+    @RequiredArgsConstructor
+    private static class Cell {
+
+        @NotNull private final String world;
+        private final int x;
+        private final int z;
+
+        private long key() {
+            return PlayerGrid.key(x, z);
+        }
+    }
+}
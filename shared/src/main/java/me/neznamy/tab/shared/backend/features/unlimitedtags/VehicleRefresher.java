@@ -2,15 +2,16 @@ package me.neznamy.tab.shared.backend.features.unlimitedtags;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.backend.BackendTabPlayer;
 import me.neznamy.tab.shared.features.types.*;
+import me.neznamy.tab.shared.util.IntObjectMap;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Sub-feature for unlimited name tag mode to secure
@@ -20,6 +21,10 @@ import java.util.concurrent.ConcurrentHashMap;
  * animation.
  * Additionally, when entering a vehicle, no move packet is sent
  * and therefore manual teleporting of armor stands is required.
+ * <p>
+ * If the platform reports vehicle enter and exit using events, they are used
+ * to trigger {@link #refresh(TabPlayer, boolean)}, otherwise the vehicle
+ * is checked periodically using a placeholder.
  */
 @RequiredArgsConstructor
 public class VehicleRefresher extends TabFeature implements JoinListener, QuitListener, Loadable, Refreshable {
@@ -28,11 +33,14 @@ public class VehicleRefresher extends TabFeature implements JoinListener, QuitLi
     @Getter private final String refreshDisplayName = "Refreshing vehicles";
 
     /** Map of players currently in a vehicle */
-    private final HashMap<TabPlayer, Object> playersInVehicle = new HashMap<>();
+    private final HashMap<TabPlayer, Ride> playersInVehicle = new HashMap<>();
 
-    /** Map of vehicles carrying players */
+    /** Map of vehicles carrying players, mapped to entity ids of their passengers */
     @Getter
-    private final Map<Integer, List<Integer>> vehicles = new ConcurrentHashMap<>();
+    private final IntObjectMap<int[]> vehicles = new IntObjectMap<>();
+
+    /** Whether vehicle changes are reported by platform events or not */
+    @Setter private boolean eventDriven;
 
     /** set of players currently on boats */
     private final Set<TabPlayer> playersOnBoats = Collections.newSetFromMap(new WeakHashMap<>());
@@ -44,8 +52,13 @@ public class VehicleRefresher extends TabFeature implements JoinListener, QuitLi
     public void load() {
         TAB.getInstance().getCPUManager().startRepeatingMeasuredTask(50,
                 featureName, TabConstants.CpuUsageCategory.PROCESSING_PLAYER_MOVEMENT, () -> {
-                    for (TabPlayer inVehicle : playersInVehicle.keySet()) {
-                        feature.getArmorStandManager(inVehicle).teleport();
+                    for (Map.Entry<TabPlayer, Ride> entry : playersInVehicle.entrySet()) {
+                        TabPlayer inVehicle = entry.getKey();
+                        if (entry.getValue().move(feature.getX(inVehicle), feature.getY(entry.getValue().vehicle), feature.getZ(inVehicle))) {
+                            feature.getArmorStandManager(inVehicle).teleport();
+                            // Move event is not called for players in vehicles
+                            feature.updatePosition(inVehicle);
+                        }
                     }
                     for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
                         if (feature.isPreviewingNameTag(p)) {
@@ -53,17 +66,19 @@ public class VehicleRefresher extends TabFeature implements JoinListener, QuitLi
                         }
                     }
                 });
-        addUsedPlaceholders(Collections.singletonList(TabConstants.Placeholder.VEHICLE));
-        TAB.getInstance().getPlaceholderManager().registerPlayerPlaceholder(TabConstants.Placeholder.VEHICLE, 100, p -> {
-            Object v = feature.getVehicle((TabPlayer) p);
-            //There's a bug in Bukkit 1.19.3 throwing NPE on .toString(), use default toString implementation
-            return v == null ? "" : v.getClass().getName() + "@" + Integer.toHexString(v.hashCode());
-        });
+        if (!eventDriven) {
+            addUsedPlaceholders(Collections.singletonList(TabConstants.Placeholder.VEHICLE));
+            TAB.getInstance().getPlaceholderManager().registerPlayerPlaceholder(TabConstants.Placeholder.VEHICLE, 100, p -> {
+                Object v = feature.getVehicle((TabPlayer) p);
+                //There's a bug in Bukkit 1.19.3 throwing NPE on .toString(), use default toString implementation
+                return v == null ? "" : v.getClass().getName() + "@" + Integer.toHexString(v.hashCode());
+            });
+        }
         for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
             Object vehicle = feature.getVehicle(p);
             if (vehicle != null) {
                 updateVehicle(vehicle);
-                playersInVehicle.put(p, vehicle);
+                playersInVehicle.put(p, new Ride(vehicle));
                 if (feature.isDisableOnBoats() && feature.getEntityType(vehicle).contains("boat")) {
                     playersOnBoats.add(p);
                 }
@@ -79,10 +94,19 @@ public class VehicleRefresher extends TabFeature implements JoinListener, QuitLi
 
     @Override
     public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
-        if (playersInVehicle.containsKey(disconnectedPlayer)) vehicles.remove(feature.getEntityId(playersInVehicle.remove(disconnectedPlayer)));
-        for (List<Integer> entities : vehicles.values()) {
-            entities.remove((Integer)feature.getEntityId(disconnectedPlayer));
-        }
+        Ride ride = playersInVehicle.remove(disconnectedPlayer);
+        if (ride != null) vehicles.remove(feature.getEntityId(ride.vehicle));
+        int entityId = feature.getEntityId(disconnectedPlayer);
+        vehicles.forEach((vehicle, passengers) -> {
+            for (int i = 0; i < passengers.length; i++) {
+                if (passengers[i] != entityId) continue;
+                int[] remaining = new int[passengers.length - 1];
+                System.arraycopy(passengers, 0, remaining, 0, i);
+                System.arraycopy(passengers, i + 1, remaining, i, remaining.length - i);
+                vehicles.put(vehicle, remaining);
+                break;
+            }
+        });
     }
 
     @Override
@@ -91,7 +115,7 @@ public class VehicleRefresher extends TabFeature implements JoinListener, QuitLi
         Object vehicle = feature.getVehicle(p);
         if (playersInVehicle.containsKey(p) && vehicle == null) {
             //vehicle exit
-            vehicles.remove(feature.getEntityId(playersInVehicle.get(p)));
+            vehicles.remove(feature.getEntityId(playersInVehicle.get(p).vehicle));
             feature.getArmorStandManager(p).teleport();
             playersInVehicle.remove(p);
             if (feature.isDisableOnBoats() && playersOnBoats.contains(p)) {
@@ -104,7 +128,7 @@ public class VehicleRefresher extends TabFeature implements JoinListener, QuitLi
             //vehicle enter
             updateVehicle(vehicle);
             feature.getArmorStandManager(p).respawn(); //making teleport instant instead of showing teleport animation
-            playersInVehicle.put(p, vehicle);
+            playersInVehicle.put(p, new Ride(vehicle));
             if (feature.isDisableOnBoats() && feature.getEntityType(vehicle).contains("boat")) {
                 playersOnBoats.add(p);
                 feature.updateTeamData(p);
@@ -127,4 +151,39 @@ public class VehicleRefresher extends TabFeature implements JoinListener, QuitLi
     private void updateVehicle(Object vehicle) {
         feature.runInEntityScheduler(vehicle, () -> vehicles.put(feature.getEntityId(vehicle), feature.getPassengers(vehicle)));
     }
+
+    /**
+     * Vehicle of a player with its last known location.
+     */
+    @RequiredArgsConstructor
+    private static class Ride {
+
+        /** Vehicle the player is in */
+        @NotNull private final Object vehicle;
+
+        /** Location of player when armor stands were last teleported */
+        private double x = Double.NaN;
+        private double y;
+        private double z;
+
+        /**
+         * Saves new location and returns {@code true} if it is different
+         * from previous one, {@code false} if it did not change.
+         *
+         * @param   x
+         *          Current X
+         * @param   y
+         *          Current Y of the vehicle
+         * @param   z
+         *          Current Z
+         * @return  {@code true} if vehicle moved, {@code false} if not
+         */
+        private boolean move(double x, double y, double z) {
+            if (this.x == x && this.y == y && this.z == z) return false;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            return true;
+        }
+    }
 }
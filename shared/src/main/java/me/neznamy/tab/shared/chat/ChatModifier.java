@@ -4,7 +4,6 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.json.simple.JSONObject;
 
 @Data @NoArgsConstructor
 public class ChatModifier {
@@ -25,18 +24,6 @@ public class ChatModifier {
         this.obfuscated = modifier.obfuscated;
     }
 
-    @SuppressWarnings("unchecked")
-    public @NotNull JSONObject serialize(boolean rgbSupport) {
-        JSONObject json = new JSONObject();
-        if (color != null) json.put("color", color.toString(rgbSupport));
-        if (bold) json.put("bold", true);
-        if (italic) json.put("italic", true);
-        if (underlined) json.put("underlined", true);
-        if (strikethrough) json.put("strikethrough", true);
-        if (obfuscated) json.put("obfuscated", true);
-        return json;
-    }
-
     public @NotNull String getMagicCodes() {
         StringBuilder builder = new StringBuilder();
         if (isBold()) builder.append(EnumChatFormat.BOLD.getFormat());
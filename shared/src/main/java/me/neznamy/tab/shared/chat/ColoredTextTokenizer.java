@@ -0,0 +1,277 @@
+package me.neznamy.tab.shared.chat;
+
+import me.neznamy.tab.shared.chat.rgb.RGBUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Single-pass tokenizer of colored text into a flat array of styled runs.
+ * Each run is a piece of text with its color and magic codes, without creating
+ * any intermediate component objects. Components are only built when requested
+ * using {@link #toComponent(String)}, legacy text is written straight from the runs.
+ * <p>
+ * Tokenizers are pooled per thread and reused, therefore runs are only valid until
+ * the next tokenization on the same thread.
+ */
+public class ColoredTextTokenizer {
+
+    /** Magic code flags */
+    private static final int BOLD_FLAG = 1;
+    private static final int ITALIC_FLAG = 1 << 1;
+    private static final int UNDERLINE_FLAG = 1 << 2;
+    private static final int STRIKETHROUGH_FLAG = 1 << 3;
+    private static final int OBFUSCATED_FLAG = 1 << 4;
+
+    /** Reusable tokenizer for each thread */
+    private static final ThreadLocal<ColoredTextTokenizer> POOL = ThreadLocal.withInitial(ColoredTextTokenizer::new);
+
+    /** Text of all runs merged together */
+    private final StringBuilder rawText = new StringBuilder();
+
+    /** Builder for output text */
+    private final StringBuilder output = new StringBuilder();
+
+    /** End index of each run in {@link #rawText} */
+    private int[] runEnds = new int[16];
+
+    /** Color of each run, {@code null} if not set */
+    private TextColor[] colors = new TextColor[16];
+
+    /** Magic code flags of each run */
+    private int[] magicCodes = new int[16];
+
+    /** Amount of runs from last tokenization */
+    private int runCount;
+
+    /**
+     * Converts colored text into an organized component.
+     *
+     * @param   text
+     *          text to convert
+     * @return  organized component from colored text
+     * @see     IChatBaseComponent#fromColoredText(String)
+     */
+    public static @NotNull IChatBaseComponent toComponent(@NotNull String text) {
+        ColoredTextTokenizer tokenizer = POOL.get();
+        tokenizer.tokenize(text);
+        List<IChatBaseComponent> components = new ArrayList<>(tokenizer.runCount);
+        int start = 0;
+        for (int run = 0; run < tokenizer.runCount; run++) {
+            IChatBaseComponent component = new IChatBaseComponent(tokenizer.rawText.substring(start, tokenizer.runEnds[run]));
+            ChatModifier modifier = component.getModifier();
+            if (tokenizer.colors[run] != null) modifier.setColor(new TextColor(tokenizer.colors[run]));
+            int magic = tokenizer.magicCodes[run];
+            if ((magic & BOLD_FLAG) != 0) modifier.setBold(true);
+            if ((magic & ITALIC_FLAG) != 0) modifier.setItalic(true);
+            if ((magic & UNDERLINE_FLAG) != 0) modifier.setUnderlined(true);
+            if ((magic & STRIKETHROUGH_FLAG) != 0) modifier.setStrikethrough(true);
+            if ((magic & OBFUSCATED_FLAG) != 0) modifier.setObfuscated(true);
+            components.add(component);
+            start = tokenizer.runEnds[run];
+        }
+        return new IChatBaseComponent("").setExtra(components);
+    }
+
+    /**
+     * Converts colored text into text with legacy colors only (the closest match if color is set to RGB).
+     * Produces the same output as {@code toComponent(text).toLegacyText()} without building the component.
+     *
+     * @param   text
+     *          text to convert
+     * @return  text with legacy colors
+     */
+    public static @NotNull String toLegacyText(@NotNull String text) {
+        ColoredTextTokenizer tokenizer = POOL.get();
+        tokenizer.tokenize(text);
+        StringBuilder output = tokenizer.output;
+        output.setLength(0);
+        int previousColor = -1;
+        int previousMagic = 0;
+        int start = 0;
+        for (int run = 0; run < tokenizer.runCount; run++) {
+            TextColor color = tokenizer.colors[run];
+            int legacyColor = color == null ? -1 : color.getLegacyColor().ordinal();
+            int magic = tokenizer.magicCodes[run];
+            if (legacyColor != previousColor || magic != previousMagic) {
+                if (color != null) {
+                    //preventing unwanted &r -> &f conversion and stopping the <1.13 client bug fix from working
+                    output.append(EnumChatFormat.COLOR_CHAR).append(color.getLegacyColor() == EnumChatFormat.WHITE ?
+                            EnumChatFormat.RESET.getCharacter() : color.getLegacyColor().getCharacter());
+                }
+                appendMagicCodes(output, magic);
+                previousColor = legacyColor;
+                previousMagic = magic;
+            }
+            output.append(tokenizer.rawText, start, tokenizer.runEnds[run]);
+            start = tokenizer.runEnds[run];
+        }
+        return output.toString();
+    }
+
+    /**
+     * Returns text without any colors or magic codes.
+     *
+     * @param   text
+     *          text to strip
+     * @return  text without colors
+     */
+    public static @NotNull String toRawText(@NotNull String text) {
+        ColoredTextTokenizer tokenizer = POOL.get();
+        tokenizer.tokenize(text);
+        return tokenizer.rawText.toString();
+    }
+
+    /**
+     * Appends magic codes in the same order as {@link ChatModifier#getMagicCodes()}.
+     *
+     * @param   output
+     *          builder to append codes to
+     * @param   magic
+     *          magic code flags
+     */
+    private static void appendMagicCodes(@NotNull StringBuilder output, int magic) {
+        if ((magic & BOLD_FLAG) != 0) output.append(EnumChatFormat.BOLD.getFormat());
+        if ((magic & ITALIC_FLAG) != 0) output.append(EnumChatFormat.ITALIC.getFormat());
+        if ((magic & UNDERLINE_FLAG) != 0) output.append(EnumChatFormat.UNDERLINE.getFormat());
+        if ((magic & STRIKETHROUGH_FLAG) != 0) output.append(EnumChatFormat.STRIKETHROUGH.getFormat());
+        if ((magic & OBFUSCATED_FLAG) != 0) output.append(EnumChatFormat.OBFUSCATED.getFormat());
+    }
+
+    /**
+     * Splits text into styled runs. RGB formats and gradients are applied first.
+     *
+     * @param   originalText
+     *          text to tokenize
+     */
+    private void tokenize(@NotNull String originalText) {
+        String text = RGBUtils.getInstance().applyFormats(EnumChatFormat.color(originalText));
+        rawText.setLength(0);
+        runCount = 0;
+        TextColor color = null;
+        int magic = 0;
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == EnumChatFormat.COLOR_CHAR) {
+                i++;
+                if (i >= length) {
+                    break;
+                }
+                c = text.charAt(i);
+                if ((c >= 'A') && (c <= 'Z')) {
+                    c = (char)(c + ' ');
+                }
+                EnumChatFormat format = EnumChatFormat.getByChar(c);
+                if (format != null) {
+                    if (hasPendingText()) addRun(color, magic);
+                    switch (format) {
+                    case BOLD:
+                        magic |= BOLD_FLAG;
+                        break;
+                    case ITALIC:
+                        magic |= ITALIC_FLAG;
+                        break;
+                    case UNDERLINE:
+                        magic |= UNDERLINE_FLAG;
+                        break;
+                    case STRIKETHROUGH:
+                        magic |= STRIKETHROUGH_FLAG;
+                        break;
+                    case OBFUSCATED:
+                        magic |= OBFUSCATED_FLAG;
+                        break;
+                    case RESET:
+                        color = new TextColor(EnumChatFormat.WHITE);
+                        magic = 0;
+                        break;
+                    default:
+                        color = new TextColor(format);
+                        magic = 0;
+                        break;
+                    }
+                }
+            } else if (c == '#' && length > i+6 && isHexCode(text, i+1)) {
+                String hex = text.substring(i+1, i+7);
+                TextColor newColor;
+                if (containsLegacyCode(text, i)) {
+                    //noinspection ConstantConditions
+                    newColor = new TextColor(hex, EnumChatFormat.getByChar(text.charAt(i+8)));
+                    i += 8;
+                } else {
+                    newColor = new TextColor(hex);
+                    i += 6;
+                }
+                if (hasPendingText()) addRun(color, magic);
+                color = newColor;
+                magic = 0;
+            } else {
+                rawText.append(c);
+            }
+        }
+        addRun(color, magic);
+    }
+
+    /**
+     * Returns {@code true} if there is text since the last added run, {@code false} if not.
+     *
+     * @return  {@code true} if there is text since the last run
+     */
+    private boolean hasPendingText() {
+        return rawText.length() > (runCount == 0 ? 0 : runEnds[runCount-1]);
+    }
+
+    /**
+     * Adds new run ending at current raw text length with given style.
+     *
+     * @param   color
+     *          color of the run
+     * @param   magic
+     *          magic code flags of the run
+     */
+    private void addRun(TextColor color, int magic) {
+        if (runCount == runEnds.length) {
+            int newLength = runCount * 2;
+            runEnds = Arrays.copyOf(runEnds, newLength);
+            colors = Arrays.copyOf(colors, newLength);
+            magicCodes = Arrays.copyOf(magicCodes, newLength);
+        }
+        runEnds[runCount] = rawText.length();
+        colors[runCount] = color;
+        magicCodes[runCount] = magic;
+        runCount++;
+    }
+
+    /**
+     * Returns {@code true} if text contains 6 hexadecimal characters starting at given index.
+     *
+     * @param   text
+     *          text to check
+     * @param   start
+     *          index of first character
+     * @return  {@code true} if valid hex code is present, {@code false} if not
+     */
+    private static boolean isHexCode(@NotNull String text, int start) {
+        for (int i=start; i<start+6; i++) {
+            char c = text.charAt(i);
+            if (c < 48 || (c > 57 && c < 65) || (c > 70 && c < 97) || c > 102) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if text contains legacy color request at defined RGB index start
+     *
+     * @param   text
+     *          text to check
+     * @param   i
+     *          current index start
+     * @return  true if legacy color is defined, false if not
+     */
+    private static boolean containsLegacyCode(@NotNull String text, int i) {
+        if (text.length() - i < 9 || text.charAt(i+7) != '|') return false;
+        return EnumChatFormat.getByChar(text.charAt(i+8)) != null;
+    }
+}
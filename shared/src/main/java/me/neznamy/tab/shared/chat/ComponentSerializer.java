@@ -0,0 +1,171 @@
+package me.neznamy.tab.shared.chat;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * Hand-written streaming JSON serializer for {@link IChatBaseComponent}. It writes
+ * directly into a {@link StringBuilder} instead of building a tree of {@code JSONObject}s.
+ * <p>
+ * Output is identical to the previous json-simple based serialization, including its
+ * escaping rules and key order (which was the iteration order of {@code HashMap} with
+ * these exact keys), so that cached or compared strings remain unchanged.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class ComponentSerializer {
+
+    /** Builders reused by each thread to avoid reallocating the buffer on each serialization */
+    private static final ThreadLocal<StringBuilder> BUILDERS = ThreadLocal.withInitial(() -> new StringBuilder(128));
+
+    /** Builders above this capacity are not kept around to avoid holding on to memory */
+    private static final int MAX_REUSED_CAPACITY = 8192;
+
+    /** Hex digits used for unicode escapes */
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * Serializes given component into a string using a reusable thread-local builder.
+     *
+     * @param   component
+     *          component to serialize
+     * @return  serialized component
+     */
+    public static @NotNull String serialize(@NotNull IChatBaseComponent component) {
+        StringBuilder builder = BUILDERS.get();
+        builder.setLength(0);
+        serialize(component, builder);
+        String result = builder.toString();
+        if (builder.capacity() > MAX_REUSED_CAPACITY) BUILDERS.remove();
+        return result;
+    }
+
+    /**
+     * Serializes given component and appends the result into provided builder.
+     *
+     * @param   component
+     *          component to serialize
+     * @param   builder
+     *          builder to append serialized component to
+     */
+    public static void serialize(@NotNull IChatBaseComponent component, @NotNull StringBuilder builder) {
+        ChatModifier modifier = component.getModifier();
+        boolean rgbSupport = component.getTargetVersion() == null || component.getTargetVersion().getMinorVersion() >= 16;
+        boolean first = true;
+        builder.append('{');
+        if (modifier.getColor() != null) {
+            first = writeKey(builder, "color", first);
+            writeString(builder, modifier.getColor().toString(rgbSupport));
+        }
+        if (modifier.isUnderlined()) first = writeTrue(builder, "underlined", first);
+        List<IChatBaseComponent> extra = component.getExtra();
+        if (!extra.isEmpty()) {
+            first = writeKey(builder, "extra", first);
+            builder.append('[');
+            for (int i = 0; i < extra.size(); i++) {
+                if (i > 0) builder.append(',');
+                serialize(extra.get(i), builder);
+            }
+            builder.append(']');
+        }
+        if (component.getText() != null) {
+            first = writeKey(builder, "text", first);
+            writeString(builder, component.getText());
+        }
+        if (modifier.isBold()) first = writeTrue(builder, "bold", first);
+        if (modifier.isStrikethrough()) first = writeTrue(builder, "strikethrough", first);
+        if (modifier.isItalic()) first = writeTrue(builder, "italic", first);
+        if (modifier.isObfuscated()) writeTrue(builder, "obfuscated", first);
+        builder.append('}');
+    }
+
+    /**
+     * Writes key with {@code true} value.
+     *
+     * @param   builder
+     *          builder to write to
+     * @param   key
+     *          key to write
+     * @param   first
+     *          whether this is the first key in the object
+     * @return  {@code false}, as the next key will no longer be first
+     */
+    private static boolean writeTrue(@NotNull StringBuilder builder, @NotNull String key, boolean first) {
+        writeKey(builder, key, first);
+        builder.append("true");
+        return false;
+    }
+
+    /**
+     * Writes key followed by colon, prefixed with comma if it is not the first key.
+     * Keys are constants which do not need escaping.
+     *
+     * @param   builder
+     *          builder to write to
+     * @param   key
+     *          key to write
+     * @param   first
+     *          whether this is the first key in the object
+     * @return  {@code false}, as the next key will no longer be first
+     */
+    private static boolean writeKey(@NotNull StringBuilder builder, @NotNull String key, boolean first) {
+        if (!first) builder.append(',');
+        builder.append('"').append(key).append("\":");
+        return false;
+    }
+
+    /**
+     * Writes quoted and escaped string using the same rules as json-simple.
+     *
+     * @param   builder
+     *          builder to write to
+     * @param   value
+     *          string to write
+     */
+    private static void writeString(@NotNull StringBuilder builder, @NotNull String value) {
+        builder.append('"');
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    builder.append("\\\"");
+                    break;
+                case '\\':
+                    builder.append("\\\\");
+                    break;
+                case '\b':
+                    builder.append("\\b");
+                    break;
+                case '\f':
+                    builder.append("\\f");
+                    break;
+                case '\n':
+                    builder.append("\\n");
+                    break;
+                case '\r':
+                    builder.append("\\r");
+                    break;
+                case '\t':
+                    builder.append("\\t");
+                    break;
+                case '/':
+                    builder.append("\\/");
+                    break;
+                default:
+                    if (c <= '\u001F' || (c >= '\u007F' && c <= '\u009F') || (c >= '\u2000' && c <= '\u20FF')) {
+                        builder.append("\\u")
+                                .append(HEX[(c >> 12) & 0xF])
+                                .append(HEX[(c >> 8) & 0xF])
+                                .append(HEX[(c >> 4) & 0xF])
+                                .append(HEX[c & 0xF]);
+                    } else {
+                        builder.append(c);
+                    }
+            }
+        }
+        builder.append('"');
+    }
+}
@@ -1,10 +1,10 @@
 package me.neznamy.tab.shared.chat;
 
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import me.neznamy.tab.shared.ProtocolVersion;
-import me.neznamy.tab.shared.chat.rgb.RGBUtils;
 import me.neznamy.tab.shared.util.ComponentCache;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.format.TextDecoration;
@@ -12,7 +12,6 @@ import net.md_5.bungee.api.ChatColor;
 import net.md_5.bungee.api.chat.TextComponent;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.json.simple.JSONObject;
 
 import java.util.*;
 import java.util.stream.Collectors;
@@ -20,7 +19,6 @@ import java.util.stream.Collectors;
 /**
  * A class representing the n.m.s.IChatBaseComponent class to make work with it much easier
  */
-@SuppressWarnings("unchecked")
 @NoArgsConstructor
 public class IChatBaseComponent {
 
@@ -28,17 +26,17 @@ public class IChatBaseComponent {
      * Component cache maps to avoid large memory allocations as well as
      * higher CPU usage when using animations which send the same text on repeat.
      */
-    private static final ComponentCache<String, IChatBaseComponent> stringCache = new ComponentCache<>(10000, (text, clientVersion) -> {
+    @Getter private static final ComponentCache<String, IChatBaseComponent> stringCache = new ComponentCache<>(10000, (text, clientVersion) -> {
                 return text.contains("#") || text.contains("&x") || text.contains(EnumChatFormat.COLOR_CHAR + "x") || text.contains("<") ?
                     IChatBaseComponent.fromColoredText(text) : //contains RGB colors
                     new IChatBaseComponent(text); //no RGB
             });
 
-    private static final ComponentCache<IChatBaseComponent, String> serializeCache = new ComponentCache<>(10000,
+    @Getter private static final ComponentCache<IChatBaseComponent, String> serializeCache = new ComponentCache<>(10000,
             (component, clientVersion) -> component.toString());
 
     /** Component cache for BungeeCord components */
-    private static final @NotNull ComponentCache<IChatBaseComponent, Object> bungeeCache =
+    @Getter private static final @NotNull ComponentCache<IChatBaseComponent, Object> bungeeCache =
             new ComponentCache<>(10000, IChatBaseComponent::toBungeeComponent0);
 
     public static final String EMPTY_COMPONENT = "{\"text\":\"\"}";
@@ -52,7 +50,8 @@ public class IChatBaseComponent {
     /** Extra components used in "extra" field */
     @Nullable private List<IChatBaseComponent> extra;
 
-    @Nullable private ProtocolVersion targetVersion;
+    /** Client version this component is being serialized for, {@code null} if unknown */
+    @Getter(AccessLevel.PACKAGE) @Nullable private ProtocolVersion targetVersion;
 
     /**
      * Constructs a new component which is a clone of provided component
@@ -104,19 +103,15 @@ public class IChatBaseComponent {
 
     /**
      * Converts the component to a string representing the serialized component.
-     * This method is only used internally by json library since it's missing
-     * protocol version field used by the method.
+     * This method is missing protocol version field, use
+     * {@link #toString(ProtocolVersion)} to serialize for a specific client.
      *
      * @return  serialized component in string form
      * @see     #toString(ProtocolVersion)
      */
     @Override
     public @NotNull String toString() {
-        JSONObject json = new JSONObject();
-        if (text != null) json.put("text", text);
-        json.putAll(modifier.serialize(targetVersion == null || targetVersion.getMinorVersion() >= 16));
-        if (extra != null) json.put("extra", extra);
-        return json.toString();
+        return ComponentSerializer.serialize(this);
     }
 
     /**
@@ -137,105 +132,30 @@ public class IChatBaseComponent {
     }
 
     /**
-     * Returns organized component from colored text
+     * Applies configured sizes of component caches.
      *
-     * @param   originalText
-     *          text to convert
-     * @return  organized component from colored text
+     * @param   stringCacheSize
+     *          Maximum size of text to component cache
+     * @param   serializeCacheSize
+     *          Maximum size of component serialization cache
+     * @param   bungeeCacheSize
+     *          Maximum size of BungeeCord component cache
      */
-    public static @NotNull IChatBaseComponent fromColoredText(@NotNull String originalText) {
-        String text = RGBUtils.getInstance().applyFormats(EnumChatFormat.color(originalText));
-        List<IChatBaseComponent> components = new ArrayList<>();
-        StringBuilder builder = new StringBuilder();
-        IChatBaseComponent component = new IChatBaseComponent();
-        for (int i = 0; i < text.length(); i++) {
-            char c = text.charAt(i);
-            if (c == EnumChatFormat.COLOR_CHAR) {
-                i++;
-                if (i >= text.length()) {
-                    break;
-                }
-                c = text.charAt(i);
-                if ((c >= 'A') && (c <= 'Z')) {
-                    c = (char)(c + ' ');
-                }
-                EnumChatFormat format = EnumChatFormat.getByChar(c);
-                if (format != null) {
-                    if (builder.length() > 0) {
-                        component.setText(builder.toString());
-                        components.add(component);
-                        component = new IChatBaseComponent(component);
-                        component.text = null;
-                        builder = new StringBuilder();
-                    }
-                    switch (format) {
-                    case BOLD: 
-                        component.modifier.setBold(true);
-                        break;
-                    case ITALIC: 
-                        component.modifier.setItalic(true);
-                        break;
-                    case UNDERLINE: 
-                        component.modifier.setUnderlined(true);
-                        break;
-                    case STRIKETHROUGH: 
-                        component.modifier.setStrikethrough(true);
-                        break;
-                    case OBFUSCATED: 
-                        component.modifier.setObfuscated(true);
-                        break;
-                    case RESET: 
-                        component = new IChatBaseComponent();
-                        component.modifier.setColor(new TextColor(EnumChatFormat.WHITE));
-                        break;
-                    default:
-                        component = new IChatBaseComponent();
-                        component.modifier.setColor(new TextColor(format));
-                        break;
-                    }
-                }
-            } else if (c == '#' && text.length() > i+6) {
-                String hex = text.substring(i+1, i+7);
-                if (RGBUtils.getInstance().isHexCode(hex)) {
-                    TextColor color;
-                    if (containsLegacyCode(text, i)) {
-                        color = new TextColor(hex, EnumChatFormat.getByChar(text.charAt(i+8)));
-                        i += 8;
-                    } else {
-                        color = new TextColor(hex);
-                        i += 6;
-                    }
-                    if (builder.length() > 0) {
-                        component.setText(builder.toString());
-                        components.add(component);
-                        builder = new StringBuilder();
-                    }
-                    component = new IChatBaseComponent();
-                    component.modifier.setColor(color);
-                } else {
-                    builder.append(c);
-                }
-            } else {
-                builder.append(c);
-            }
-        }
-        component.setText(builder.toString());
-        components.add(component);
-        return new IChatBaseComponent("").setExtra(components);
+    public static void setCacheSizes(int stringCacheSize, int serializeCacheSize, int bungeeCacheSize) {
+        stringCache.setCacheSize(stringCacheSize);
+        serializeCache.setCacheSize(serializeCacheSize);
+        bungeeCache.setCacheSize(bungeeCacheSize);
     }
 
     /**
-     * Returns true if text contains legacy color request at defined RGB index start
+     * Returns organized component from colored text
      *
-     * @param   text
-     *          text to check
-     * @param   i
-     *          current index start
-     * @return  true if legacy color is defined, false if not
+     * @param   originalText
+     *          text to convert
+     * @return  organized component from colored text
      */
-    private static boolean containsLegacyCode(@NotNull String text, int i) {
-        if (text.length() - i < 9 || text.charAt(i+7) != '|') return false;
-        return EnumChatFormat.getByChar(text.charAt(i+8)) != null;
+    public static @NotNull IChatBaseComponent fromColoredText(@NotNull String originalText) {
+        return ColoredTextTokenizer.toComponent(originalText);
     }
 
     /**
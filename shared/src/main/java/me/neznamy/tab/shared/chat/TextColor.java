@@ -8,6 +8,18 @@ import org.jetbrains.annotations.NotNull;
  */
 public class TextColor {
 
+    /** Amount of lowest bits of each channel ignored in lookup table of the closest legacy colors */
+    private static final int LOOKUP_SHIFT = 3;
+
+    /** Amount of cells in lookup table for each channel */
+    private static final int LOOKUP_SIZE = 256 >> LOOKUP_SHIFT;
+
+    /**
+     * Closest legacy color ordinals for quantized RGB values (32x32x32), or {@code -1}
+     * if colors in the cell do not all share the same closest legacy color.
+     */
+    private static final byte[] CLOSEST_COLORS = createLookupTable();
+
     /**
      * RGB values as a single number of 3 8-bit numbers (0-255).
      * It is only initialized if colors are actually used to avoid
@@ -103,13 +115,33 @@ public class TextColor {
      * Loads the closest legacy color based currently provided values
      */
     private EnumChatFormat loadClosestColor() {
+        int red = getRed();
+        int green = getGreen();
+        int blue = getBlue();
+        byte closest = CLOSEST_COLORS[(red >> LOOKUP_SHIFT) * LOOKUP_SIZE * LOOKUP_SIZE + (green >> LOOKUP_SHIFT) * LOOKUP_SIZE + (blue >> LOOKUP_SHIFT)];
+        if (closest != -1) return EnumChatFormat.VALUES[closest];
+        return findClosestColor(red, green, blue);
+    }
+
+    /**
+     * Finds the closest legacy color by comparing distance to all of them.
+     *
+     * @param   red
+     *          red value
+     * @param   green
+     *          green value
+     * @param   blue
+     *          blue value
+     * @return  the closest legacy color
+     */
+    private static @NotNull EnumChatFormat findClosestColor(int red, int green, int blue) {
         double minMaxDist = 9999;
         double maxDist;
         EnumChatFormat closestColor = EnumChatFormat.WHITE;
         for (EnumChatFormat color : EnumChatFormat.VALUES) {
-            int rDiff = Math.abs(color.getRed() - getRed());
-            int gDiff = Math.abs(color.getGreen() - getGreen());
-            int bDiff = Math.abs(color.getBlue() - getBlue());
+            int rDiff = Math.abs(color.getRed() - red);
+            int gDiff = Math.abs(color.getGreen() - green);
+            int bDiff = Math.abs(color.getBlue() - blue);
             maxDist = rDiff;
             if (gDiff > maxDist) maxDist = gDiff;
             if (bDiff > maxDist) maxDist = bDiff;
@@ -121,6 +153,56 @@ public class TextColor {
         return closestColor;
     }
 
+    /**
+     * Creates lookup table of the closest legacy colors. For each cell, distance range to every
+     * legacy color is calculated. If one color is closer than all others for any color in the cell,
+     * it is stored. Otherwise, {@code -1} is stored and the exact calculation is used for that cell.
+     *
+     * @return  lookup table of the closest legacy colors
+     */
+    private static byte[] createLookupTable() {
+        int cellWidth = (1 << LOOKUP_SHIFT) - 1;
+        int colorCount = EnumChatFormat.WHITE.ordinal() + 1; // Magic codes never win against black
+        int[] minDist = new int[colorCount];
+        int[] maxDist = new int[colorCount];
+        byte[] table = new byte[LOOKUP_SIZE * LOOKUP_SIZE * LOOKUP_SIZE];
+        int index = 0;
+        for (int red = 0; red < 256; red += cellWidth + 1) {
+            for (int green = 0; green < 256; green += cellWidth + 1) {
+                for (int blue = 0; blue < 256; blue += cellWidth + 1) {
+                    int best = 0;
+                    for (int i = 0; i < colorCount; i++) {
+                        EnumChatFormat color = EnumChatFormat.VALUES[i];
+                        minDist[i] = Math.max(minDistance(color.getRed(), red, cellWidth),
+                                Math.max(minDistance(color.getGreen(), green, cellWidth), minDistance(color.getBlue(), blue, cellWidth)));
+                        maxDist[i] = Math.max(maxDistance(color.getRed(), red, cellWidth),
+                                Math.max(maxDistance(color.getGreen(), green, cellWidth), maxDistance(color.getBlue(), blue, cellWidth)));
+                        if (maxDist[i] < maxDist[best]) best = i;
+                    }
+                    boolean uniform = true;
+                    for (int i = 0; i < colorCount; i++) {
+                        // Colors defined earlier win ties
+                        if ((i < best && maxDist[best] >= minDist[i]) || (i > best && maxDist[best] > minDist[i])) {
+                            uniform = false;
+                            break;
+                        }
+                    }
+                    table[index++] = uniform ? (byte) best : -1;
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int minDistance(int value, int cellStart, int cellWidth) {
+        if (value < cellStart) return cellStart - value;
+        return Math.max(0, value - cellStart - cellWidth);
+    }
+
+    private static int maxDistance(int value, int cellStart, int cellWidth) {
+        return Math.max(Math.abs(value - cellStart), Math.abs(value - cellStart - cellWidth));
+    }
+
     /**
      * Returns {@code red} value
      *
@@ -2,7 +2,7 @@ package me.neznamy.tab.shared.chat.rgb;
 
 import lombok.Getter;
 import me.neznamy.tab.shared.chat.EnumChatFormat;
-import me.neznamy.tab.shared.chat.IChatBaseComponent;
+import me.neznamy.tab.shared.chat.ColoredTextTokenizer;
 import me.neznamy.tab.shared.chat.rgb.format.BukkitFormat;
 import me.neznamy.tab.shared.chat.rgb.format.HtmlFormat;
 import me.neznamy.tab.shared.chat.rgb.format.KyoriFormat;
@@ -30,12 +30,27 @@ public class RGBUtils {
     /** Instance of the class */
     @Getter private static final RGBUtils instance = new RGBUtils();
 
+    /** Trigger flags found by a single scan of the text, used to skip formats which cannot match */
+    private static final int TRIGGER_LT = 1;               // <
+    private static final int TRIGGER_LT_HASH = 1 << 1;     // <#
+    private static final int TRIGGER_LT_DOLLAR = 1 << 2;   // <$
+    private static final int TRIGGER_HASH_LT = 1 << 3;     // #<
+    private static final int TRIGGER_BRACE_HASH = 1 << 4;  // {#
+    private static final int TRIGGER_AMP_HASH = 1 << 5;    // &#
+    private static final int TRIGGER_LEGACY_X = 1 << 6;    // &x or §x
+
     /** Registered RGB formatters */
     private final RGBFormatter[] formats;
 
+    /** Trigger flags required by each RGB formatter */
+    private final int[] formatTriggers;
+
     /** Registered gradient patterns */
     private final GradientPattern[] gradients;
 
+    /** Trigger flags required by each gradient pattern */
+    private final int[] gradientTriggers;
+
     /** TAB's RGB pattern, used to convert text to bukkit format for boss bar */
     private final Pattern tabPattern = Pattern.compile("#[0-9a-fA-F]{6}");
 
@@ -47,15 +62,23 @@ public class RGBUtils {
      */
     public RGBUtils() {
         List<RGBFormatter> list = new ArrayList<>();
+        List<Integer> triggers = new ArrayList<>();
         if (ReflectionUtils.classExists("net.kyori.adventure.text.minimessage.MiniMessage")) {
             list.add(new MiniMessageFormat());
+            triggers.add(TRIGGER_LT);
         }
         list.add(new BukkitFormat());
+        triggers.add(TRIGGER_LEGACY_X);
         list.add(new CMIFormat());
+        triggers.add(TRIGGER_BRACE_HASH);
         list.add(new UnnamedFormat1());
+        triggers.add(TRIGGER_AMP_HASH);
         list.add(new HtmlFormat());
+        triggers.add(TRIGGER_HASH_LT);
         list.add(new KyoriFormat());
+        triggers.add(TRIGGER_LT_HASH);
         formats = list.toArray(new RGBFormatter[0]);
+        formatTriggers = triggers.stream().mapToInt(Integer::intValue).toArray();
 
         gradients = new GradientPattern[] {
                 //{#RRGGBB>}text{#RRGGBB<}
@@ -70,6 +93,7 @@ public class RGBUtils {
                         "<$", 10, 3, 10, 7),
                 new KyoriGradient()
         };
+        gradientTriggers = new int[] {TRIGGER_BRACE_HASH, TRIGGER_LT_HASH, TRIGGER_LT_DOLLAR, TRIGGER_LT};
     }
 
     /**
@@ -80,16 +104,64 @@ public class RGBUtils {
      * @return  text where everything is converted to #RRGGBB
      */
     public @NotNull String applyFormats(@NotNull String text) {
+        int triggers = scanTriggers(text);
+        if (triggers == 0) return text;
         String replaced = text;
-        for (GradientPattern pattern : gradients) {
-            replaced = pattern.applyPattern(replaced, false);
+        for (int i=0; i<gradients.length; i++) {
+            if ((triggers & gradientTriggers[i]) == 0) continue;
+            String applied = gradients[i].applyPattern(replaced, false);
+            if (!applied.equals(replaced)) {
+                replaced = applied;
+                triggers = scanTriggers(replaced);
+            }
         }
-        for (RGBFormatter formatter : formats) {
-            replaced = formatter.reformat(replaced);
+        for (int i=0; i<formats.length; i++) {
+            if ((triggers & formatTriggers[i]) == 0) continue;
+            String applied = formats[i].reformat(replaced);
+            if (!applied.equals(replaced)) {
+                replaced = applied;
+                triggers = scanTriggers(replaced);
+            }
         }
         return replaced;
     }
 
+    /**
+     * Scans the text once and returns flags of all character sequences
+     * which may start any of the supported RGB formats or gradients.
+     * Returns {@code 0} if no format can be present in the text.
+     *
+     * @param   text
+     *          text to scan
+     * @return  found trigger flags
+     */
+    private int scanTriggers(@NotNull String text) {
+        int triggers = 0;
+        int length = text.length();
+        for (int i=0; i<length; i++) {
+            char c = text.charAt(i);
+            if (c == '<') {
+                triggers |= TRIGGER_LT;
+                if (i+1 < length) {
+                    char next = text.charAt(i+1);
+                    if (next == '#') triggers |= TRIGGER_LT_HASH;
+                    else if (next == '$') triggers |= TRIGGER_LT_DOLLAR;
+                }
+            } else if (c == '#') {
+                if (i > 0) {
+                    char previous = text.charAt(i-1);
+                    if (previous == '{') triggers |= TRIGGER_BRACE_HASH;
+                    else if (previous == '&') triggers |= TRIGGER_AMP_HASH;
+                }
+                if (i+1 < length && text.charAt(i+1) == '<') triggers |= TRIGGER_HASH_LT;
+            } else if (c == 'x' && i > 0) {
+                char previous = text.charAt(i-1);
+                if (previous == '&' || previous == EnumChatFormat.COLOR_CHAR) triggers |= TRIGGER_LEGACY_X;
+            }
+        }
+        return triggers;
+    }
+
     /**
      * Applies all gradient formats to text and returns it. This only affects
      * usage where no placeholder is used inside.
@@ -99,9 +171,16 @@ public class RGBUtils {
      * @return  text where all gradients with static text are converted to #RRGGBB
      */
     public @NotNull String applyCleanGradients(@NotNull String text) {
+        int triggers = scanTriggers(text);
+        if (triggers == 0) return text;
         String replaced = text;
-        for (GradientPattern pattern : gradients) {
-            replaced = pattern.applyPattern(replaced, true);
+        for (int i=0; i<gradients.length; i++) {
+            if ((triggers & gradientTriggers[i]) == 0) continue;
+            String applied = gradients[i].applyPattern(replaced, true);
+            if (!applied.equals(replaced)) {
+                replaced = applied;
+                triggers = scanTriggers(replaced);
+            }
         }
         return replaced;
     }
@@ -146,7 +225,7 @@ public class RGBUtils {
      * @return  translated text
      */
     public @NotNull String convertRGBtoLegacy(@NotNull String text) {
-        return IChatBaseComponent.fromColoredText(text).toLegacyText();
+        return ColoredTextTokenizer.toLegacyText(text);
     }
 
     /**
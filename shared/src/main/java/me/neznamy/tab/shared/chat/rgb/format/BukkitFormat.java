@@ -1,6 +1,5 @@
 package me.neznamy.tab.shared.chat.rgb.format;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import me.neznamy.tab.shared.chat.EnumChatFormat;
@@ -16,13 +15,7 @@ public class BukkitFormat implements RGBFormatter {
     @Override
     public @NotNull String reformat(@NotNull String text) {
         if (!text.contains("&x") && !text.contains(EnumChatFormat.COLOR_CHAR + "x")) return text;
-        String replaced = text;
-        Matcher m = pattern.matcher(replaced);
-        while (m.find()) {
-            String hexCode = m.group();
-            String fixed = new String(new char[] {'#', hexCode.charAt(3), hexCode.charAt(5), hexCode.charAt(7), hexCode.charAt(9), hexCode.charAt(11), hexCode.charAt(13)});
-            replaced = replaced.replace(hexCode, fixed);
-        }
-        return replaced;
+        return replaceMatches(pattern, text, hexCode -> new String(new char[] {'#', hexCode.charAt(3),
+                hexCode.charAt(5), hexCode.charAt(7), hexCode.charAt(9), hexCode.charAt(11), hexCode.charAt(13)}));
     }
 }
\ No newline at end of file
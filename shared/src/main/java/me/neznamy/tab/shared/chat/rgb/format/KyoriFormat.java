@@ -2,7 +2,6 @@ package me.neznamy.tab.shared.chat.rgb.format;
 
 import org.jetbrains.annotations.NotNull;
 
-import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
@@ -15,13 +14,6 @@ public class KyoriFormat implements RGBFormatter {
     @Override
     public @NotNull String reformat(@NotNull String text) {
         if (!text.contains("<#")) return text;
-        String replaced = text;
-        Matcher m = pattern.matcher(replaced);
-        while (m.find()) {
-            String hexCode = m.group();
-            String fixed = hexCode.substring(2, 8);
-            replaced = replaced.replace(hexCode, "#" + fixed);
-        }
-        return replaced;
+        return replaceMatches(pattern, text, hexCode -> "#" + hexCode.substring(2, 8));
     }
 }
\ No newline at end of file
@@ -2,6 +2,10 @@ package me.neznamy.tab.shared.chat.rgb.format;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
 /**
  * Abstract class for different RGB patterns
  */
@@ -15,4 +19,28 @@ public interface RGBFormatter {
      * @return  reformatted text
      */
     @NotNull String reformat(@NotNull String text);
+
+    /**
+     * Replaces all matches of pattern in text using provided function. Only the matched
+     * regions are rewritten, the rest of the text is copied as is.
+     *
+     * @param   pattern
+     *          pattern to find
+     * @param   text
+     *          text to search in
+     * @param   replacement
+     *          function returning replacement for matched text
+     * @return  text with all matches replaced
+     */
+    default @NotNull String replaceMatches(@NotNull Pattern pattern, @NotNull String text, @NotNull Function<String, String> replacement) {
+        Matcher m = pattern.matcher(text);
+        if (!m.find()) return text;
+        StringBuilder sb = new StringBuilder(text.length());
+        int last = 0;
+        do {
+            sb.append(text, last, m.start()).append(replacement.apply(m.group()));
+            last = m.end();
+        } while (m.find());
+        return sb.append(text, last, text.length()).toString();
+    }
 }
\ No newline at end of file
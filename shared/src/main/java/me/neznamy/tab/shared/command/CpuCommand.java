@@ -12,6 +12,7 @@ import me.neznamy.tab.shared.chat.IChatBaseComponent;
 import me.neznamy.tab.api.placeholder.Placeholder;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.util.ComponentCache;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -56,6 +57,11 @@ public class CpuCommand extends SubCommand {
             sendToConsole(features);
         }
         sendMessage(sender, SEPARATOR);
+        sendMessage(sender, "&8&l" + LINE_CHAR + " &6Component caches:");
+        printCache(sender, "String", IChatBaseComponent.getStringCache());
+        printCache(sender, "Serialize", IChatBaseComponent.getSerializeCache());
+        printCache(sender, "BungeeCord", IChatBaseComponent.getBungeeCache());
+        sendMessage(sender, SEPARATOR);
         sendMessage(sender, String.format("&8&l%s &6&lPlaceholders Total: &a&l%s%%", LINE_CHAR, colorize(decimal3.format(placeholdersTotal), 10, 5)));
         sendMessage(sender, String.format("&8&l%s &6&lPlugin internals: &a&l%s%%", LINE_CHAR, colorize(decimal3.format(featuresTotal-placeholdersTotal), 10, 5)));
         sendMessage(sender, String.format("&8&l%s &6&lTotal: &e&l%s%%", LINE_CHAR, colorize(decimal3.format(featuresTotal), 10, 5)));
@@ -75,6 +81,14 @@ public class CpuCommand extends SubCommand {
         }
     }
 
+    private void printCache(@Nullable TabPlayer sender, @NotNull String name, @NotNull ComponentCache<?, ?> cache) {
+        long hits = cache.getHits();
+        long requests = hits + cache.getMisses();
+        String hitRate = decimal3.format(requests == 0 ? 0 : hits * 100d / requests);
+        sendMessage(sender, String.format("&8&l%s &7%s &8(%s entries)&7 - hits: %s, misses: %s, evictions: %s, hit rate: &a%s%%",
+                LINE_CHAR, name, cache.size(), hits, cache.getMisses(), cache.getEvictions(), hitRate));
+    }
+
     public void sendToConsole(@NotNull Map<String, Map<String, Float>> features) {
         TAB.getInstance().sendConsoleMessage("&8&l" + LINE_CHAR + " &6Features:", true);
         for (Entry<String, Map<String, Float>> entry : features.entrySet()) {
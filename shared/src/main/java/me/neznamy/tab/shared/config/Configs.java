@@ -32,6 +32,9 @@ public class Configs {
     @Getter private final boolean onlineUuidInTabList = config.getBoolean("use-online-uuid-in-tablist", true);
     @Getter private final boolean pipelineInjection = getSecretOption("pipeline-injection", true);
     @Getter private final String serverName = getSecretOption("server-name", "N/A");
+    @Getter private final int stringCacheSize = getSecretOption("component-cache-size.string", 10000);
+    @Getter private final int serializeCacheSize = getSecretOption("component-cache-size.serialize", 10000);
+    @Getter private final int bungeeCacheSize = getSecretOption("component-cache-size.bungee", 10000);
 
     //animations.yml file
     @Getter private final ConfigurationFile animationFile = new YamlConfigurationFile(getClass().getClassLoader().getResourceAsStream("animations.yml"),
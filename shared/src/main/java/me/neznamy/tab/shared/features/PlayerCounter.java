@@ -0,0 +1,189 @@
+package me.neznamy.tab.shared.features;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import me.neznamy.tab.shared.TAB;
+import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.features.types.*;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Feature counting online players which are not vanished in total, per server, per world
+ * and by staff permission. Counters are updated on join, quit, vanish status change,
+ * world switch and server switch, so online count placeholders only read a number
+ * instead of going through all online players on every refresh.
+ * <p>
+ * Staff permission is checked when player joins and on every other update of the player,
+ * permission changes in between are not reflected until then.
+ */
+public class PlayerCounter extends TabFeature implements JoinListener, QuitListener, VanishListener, WorldSwitchListener,
+        ServerSwitchListener, Loadable {
+
+    /** Counts returned before the feature is registered, when no players are loaded yet */
+    private static final Counts EMPTY_COUNTS = new Counts();
+
+    @Getter private final String featureName = "Player counter";
+
+    /** Counts of online players */
+    @Getter private final Counts counts = new Counts();
+
+    /** State each player was last counted with, used to take them out of the same counters */
+    private final Map<TabPlayer, CountedPlayer> countedPlayers = new ConcurrentHashMap<>();
+
+    @Override
+    public void load() {
+        for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
+            update(p);
+        }
+    }
+
+    @Override
+    public void onJoin(@NotNull TabPlayer connectedPlayer) {
+        update(connectedPlayer);
+    }
+
+    @Override
+    public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
+        synchronized (this) {
+            CountedPlayer previous = countedPlayers.remove(disconnectedPlayer);
+            if (previous != null) previous.remove(counts);
+        }
+    }
+
+    @Override
+    public void onVanishStatusChange(@NotNull TabPlayer player) {
+        update(player);
+    }
+
+    @Override
+    public void onWorldChange(@NotNull TabPlayer changed, @NotNull String from, @NotNull String to) {
+        update(changed);
+    }
+
+    @Override
+    public void onServerChange(@NotNull TabPlayer changed, @NotNull String from, @NotNull String to) {
+        update(changed);
+    }
+
+    /**
+     * Returns counts of the registered player counter. The feature is registered after
+     * placeholders, so that {@code %vanished%} already exists when it is marked as used,
+     * therefore placeholders must look the counts up when they are evaluated. Before the
+     * feature is registered, empty counts are returned.
+     *
+     * @return  Counts of online players
+     */
+    public static @NotNull Counts getRegisteredCounts() {
+        PlayerCounter counter = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.PLAYER_COUNTER);
+        return counter == null ? EMPTY_COUNTS : counter.counts;
+    }
+
+    /**
+     * Takes player out of counters they were previously counted in and counts
+     * them again with their current state.
+     *
+     * @param   p
+     *          Player to update
+     */
+    private synchronized void update(@NotNull TabPlayer p) {
+        CountedPlayer previous = countedPlayers.get(p);
+        if (previous != null) previous.remove(counts);
+        CountedPlayer current = new CountedPlayer(p.getServer(), p.getWorld(), p.isVanished(), p.hasPermission(TabConstants.Permission.STAFF));
+        current.add(counts);
+        countedPlayers.put(p, current);
+    }
+
+    /**
+     * State of a player when they were counted.
+     */
+    @RequiredArgsConstructor
+    private static class CountedPlayer {
+
+        @NotNull private final String server;
+        @NotNull private final String world;
+        private final boolean vanished;
+        private final boolean staff;
+
+        private void add(@NotNull Counts counts) {
+            if (!vanished) counts.add(server, world, staff);
+        }
+
+        private void remove(@NotNull Counts counts) {
+            if (!vanished) counts.remove(server, world, staff);
+        }
+    }
+
+    /**
+     * Counters of players which are not vanished.
+     */
+    public static class Counts {
+
+        private final AtomicInteger online = new AtomicInteger();
+        private final AtomicInteger staffOnline = new AtomicInteger();
+        private final Map<String, AtomicInteger> serverOnline = new ConcurrentHashMap<>();
+        private final Map<String, AtomicInteger> worldOnline = new ConcurrentHashMap<>();
+
+        /**
+         * Adds player into counters.
+         *
+         * @param   server
+         *          Server of the player
+         * @param   world
+         *          World of the player or {@code null} if unknown
+         * @param   staff
+         *          Whether player has staff permission or not
+         */
+        public void add(@NotNull String server, @Nullable String world, boolean staff) {
+            online.incrementAndGet();
+            if (staff) staffOnline.incrementAndGet();
+            serverOnline.computeIfAbsent(server, s -> new AtomicInteger()).incrementAndGet();
+            if (world != null) worldOnline.computeIfAbsent(world, w -> new AtomicInteger()).incrementAndGet();
+        }
+
+        /**
+         * Removes player from counters.
+         *
+         * @param   server
+         *          Server of the player
+         * @param   world
+         *          World of the player or {@code null} if unknown
+         * @param   staff
+         *          Whether player has staff permission or not
+         */
+        public void remove(@NotNull String server, @Nullable String world, boolean staff) {
+            online.decrementAndGet();
+            if (staff) staffOnline.decrementAndGet();
+            AtomicInteger count = serverOnline.get(server);
+            if (count != null) count.decrementAndGet();
+            if (world != null && (count = worldOnline.get(world)) != null) count.decrementAndGet();
+        }
+
+        public int getOnline() {
+            return online.get();
+        }
+
+        public int getStaffOnline() {
+            return staffOnline.get();
+        }
+
+        public int getNonStaffOnline() {
+            return online.get() - staffOnline.get();
+        }
+
+        public int getServerOnline(@NotNull String server) {
+            AtomicInteger count = serverOnline.get(server);
+            return count == null ? 0 : count.get();
+        }
+
+        public int getWorldOnline(@NotNull String world) {
+            AtomicInteger count = worldOnline.get(world);
+            return count == null ? 0 : count.get();
+        }
+    }
+}
@@ -2,6 +2,8 @@ package me.neznamy.tab.shared.features;
 
 import lombok.Getter;
 import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
 import me.neznamy.tab.api.tablist.TabListFormatManager;
 import me.neznamy.tab.shared.Property;
 import me.neznamy.tab.shared.TAB;
@@ -18,12 +20,14 @@ import me.neznamy.tab.shared.util.Preconditions;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Feature handler for TabList display names
  */
-public class PlayerList extends TabFeature implements TabListFormatManager, JoinListener, DisplayNameListener, Loadable,
+public class PlayerList extends TabFeature implements TabListFormatManager, JoinListener, QuitListener, DisplayNameListener, Loadable,
         UnLoadable, WorldSwitchListener, ServerSwitchListener, Refreshable, VanishListener {
 
     @Getter protected final String featureName = "Tablist name formatting";
@@ -36,6 +40,9 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
     private RedisSupport redis;
     @Getter protected final DisableChecker disableChecker;
 
+    /** Formats of players which are the same for all viewers, built once and then reused for every viewer */
+    private final Map<TabPlayer, SharedFormat> sharedFormats = new ConcurrentHashMap<>();
+
     /**
      * Flag tracking when the plugin is disabling to properly clear
      * display name by setting it to null value and not force the value back
@@ -119,6 +126,8 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
      * @return  Format of specified player for viewer
      */
     public @Nullable IChatBaseComponent getTabFormat(@NotNull TabPlayer p, @NotNull TabPlayer viewer) {
+        SharedFormat shared = getSharedFormat(p);
+        if (shared != null) return shared.getComponent();
         Property prefix = p.getProperty(TabConstants.Property.TABPREFIX);
         Property name = p.getProperty(TabConstants.Property.CUSTOMTABNAME);
         Property suffix = p.getProperty(TabConstants.Property.TABSUFFIX);
@@ -128,6 +137,32 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
         return IChatBaseComponent.optimizedComponent(prefix.getFormat(viewer) + name.getFormat(viewer) + suffix.getFormat(viewer));
     }
 
+    /**
+     * Returns TabList format of player if it is the same for all viewers, which is when
+     * none of the properties contain relational placeholders. The format is only built
+     * again when one of the properties changes value, so sending it to all viewers
+     * only costs the packets.
+     *
+     * @param   p
+     *          Player to get format of
+     * @return  Format shared by all viewers or {@code null} if format depends on viewer
+     *          or properties are not loaded
+     */
+    public @Nullable SharedFormat getSharedFormat(@NotNull TabPlayer p) {
+        Property prefix = p.getProperty(TabConstants.Property.TABPREFIX);
+        Property name = p.getProperty(TabConstants.Property.CUSTOMTABNAME);
+        Property suffix = p.getProperty(TabConstants.Property.TABSUFFIX);
+        if (prefix == null || name == null || suffix == null) return null;
+        if (prefix.hasRelationalPlaceholders() || name.hasRelationalPlaceholders() || suffix.hasRelationalPlaceholders()) return null;
+        SharedFormat format = sharedFormats.get(p);
+        if (format == null || !format.matches(prefix.get(), name.get(), suffix.get())) {
+            format = new SharedFormat(prefix.get(), name.get(), suffix.get(),
+                    prefix.getFormat(null) + name.getFormat(null), suffix.getFormat(null));
+            sharedFormats.put(p, format);
+        }
+        return format;
+    }
+
     @Override
     public void load() {
         redis = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.REDIS_BUNGEE);
@@ -159,6 +194,11 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
         }
     }
 
+    @Override
+    public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
+        sharedFormats.remove(disconnectedPlayer);
+    }
+
     @Override
     public void onServerChange(@NotNull TabPlayer p, @NotNull String from, @NotNull String to) {
         if (updateProperties(p) && !disableChecker.isDisabledPlayer(p)) updatePlayer(p, true);
@@ -296,4 +336,38 @@ public class PlayerList extends TabFeature implements TabListFormatManager, Join
         Preconditions.checkLoaded(player);
         return ((TabPlayer)player).getProperty(TabConstants.Property.TABSUFFIX).getOriginalRawValue();
     }
-}
\ No newline at end of file
+
+    /**
+     * TabList format of a player which is the same for all viewers.
+     */
+    @RequiredArgsConstructor
+    public static class SharedFormat {
+
+        /** Property values the format was built from */
+        @NotNull private final String prefixValue;
+        @NotNull private final String nameValue;
+        @NotNull private final String suffixValue;
+
+        /** Colored prefix and name */
+        @Getter @NotNull private final String prefixAndName;
+
+        /** Colored suffix */
+        @Getter @NotNull private final String suffix;
+
+        /** Built component */
+        @Nullable private volatile IChatBaseComponent component;
+
+        /** Text width used by aligned TabList, -1 if not calculated yet */
+        @Getter @Setter private volatile int width = -1;
+
+        private boolean matches(@NotNull String prefix, @NotNull String name, @NotNull String suffix) {
+            return prefixValue.equals(prefix) && nameValue.equals(name) && suffixValue.equals(suffix);
+        }
+
+        public @NotNull IChatBaseComponent getComponent() {
+            IChatBaseComponent component = this.component;
+            if (component == null) this.component = component = IChatBaseComponent.optimizedComponent(prefixAndName + suffix);
+            return component;
+        }
+    }
+}
@@ -4,7 +4,6 @@ import lombok.Getter;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
 import me.neznamy.tab.shared.platform.TabPlayer;
-import me.neznamy.tab.shared.features.types.QuitListener;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.features.PlayerList;
 import org.jetbrains.annotations.NotNull;
@@ -19,7 +18,7 @@ import java.util.stream.Collectors;
 /**
  * Additional code for PlayerList class to secure alignment
  */
-public class AlignedPlayerList extends PlayerList implements QuitListener {
+public class AlignedPlayerList extends PlayerList {
 
     private final Map<TabPlayer, PlayerView> playerViews = new HashMap<>();
     @Getter private final byte[] widths = loadWidths();
@@ -102,6 +101,7 @@ public class AlignedPlayerList extends PlayerList implements QuitListener {
 
     @Override
     public void onQuit(@NotNull TabPlayer p) {
+        super.onQuit(p);
         playerViews.values().forEach(v -> v.processPlayerQuit(p));
         playerViews.remove(p);
     }
@@ -5,6 +5,7 @@ import me.neznamy.tab.shared.chat.EnumChatFormat;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
+import me.neznamy.tab.shared.features.PlayerList;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -64,12 +65,12 @@ public class PlayerView {
         Property namePr = target.getProperty(TabConstants.Property.CUSTOMTABNAME);
         Property suffixPr = target.getProperty(TabConstants.Property.TABSUFFIX);
         if (prefixPr == null || namePr == null || suffixPr == null) return null; // no idea why is another check needed
-        String prefixAndName = prefixPr.getFormat(viewer) + namePr.getFormat(viewer);
-        String suffix = suffixPr.getFormat(viewer);
-        if (suffix.length() == 0) return IChatBaseComponent.optimizedComponent(prefixAndName);
-        if ((target.isVanished() && !canSeeVanished) || width > maxWidth) {
-            //tab sending packets for vanished players or player just unvanished
-            return IChatBaseComponent.optimizedComponent(prefixAndName + suffix);
+        PlayerList.SharedFormat shared = feature.getSharedFormat(target);
+        String prefixAndName = shared != null ? shared.getPrefixAndName() : prefixPr.getFormat(viewer) + namePr.getFormat(viewer);
+        String suffix = shared != null ? shared.getSuffix() : suffixPr.getFormat(viewer);
+        if (suffix.length() == 0 || (target.isVanished() && !canSeeVanished) || width > maxWidth) {
+            //no suffix to align, tab sending packets for vanished players or player just unvanished
+            return shared != null ? shared.getComponent() : IChatBaseComponent.optimizedComponent(prefixAndName + suffix);
         }
         StringBuilder newFormat = new StringBuilder(prefixAndName).append(EnumChatFormat.RESET.getFormat());
         int length = maxWidth + 12 - width;
@@ -135,6 +136,16 @@ public class PlayerView {
      * @return  width of player's TabList name format
      */
     private int getPlayerNameWidth(@NotNull TabPlayer p) {
+        PlayerList.SharedFormat shared = feature.getSharedFormat(p);
+        if (shared != null) {
+            // Same for all viewers, only calculate once
+            int width = shared.getWidth();
+            if (width == -1) {
+                width = getTextWidth(IChatBaseComponent.fromColoredText(shared.getPrefixAndName() + shared.getSuffix()));
+                shared.setWidth(width);
+            }
+            return width;
+        }
         return getTextWidth(IChatBaseComponent.fromColoredText(
                 p.getProperty(TabConstants.Property.TABPREFIX).getFormat(viewer) +
                 p.getProperty(TabConstants.Property.CUSTOMTABNAME).getFormat(viewer) +
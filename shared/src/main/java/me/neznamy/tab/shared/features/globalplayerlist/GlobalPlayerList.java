@@ -1,6 +1,7 @@
 package me.neznamy.tab.shared.features.globalplayerlist;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import lombok.Getter;
 import me.neznamy.tab.shared.chat.IChatBaseComponent;
@@ -8,6 +9,7 @@ import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.features.PlayerCounter;
 import me.neznamy.tab.shared.features.PlayerList;
 import me.neznamy.tab.shared.features.types.*;
 import org.jetbrains.annotations.NotNull;
@@ -29,44 +31,172 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
     private final PlayerList playerlist = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.PLAYER_LIST);
     @Getter private final String featureName = "Global PlayerList";
 
+    /** Server group names by lowercase server name */
+    private final Map<String, String> serverGroups = new HashMap<>();
+
+    /** Lowercase names of spy servers */
+    private final Set<String> spyServerNames = new HashSet<>();
+
+    /** Players in each server group */
+    private final Map<String, Set<TabPlayer>> groupPlayers = new ConcurrentHashMap<>();
+
+    /** Players on spy servers */
+    private final Set<TabPlayer> spyPlayers = ConcurrentHashMap.newKeySet();
+
     public GlobalPlayerList() {
+        for (Map.Entry<String, List<String>> group : sharedServers.entrySet()) {
+            for (String server : group.getValue()) {
+                serverGroups.putIfAbsent(server.toLowerCase(Locale.US), group.getKey());
+            }
+        }
+        for (String server : spyServers) {
+            spyServerNames.add(server.toLowerCase(Locale.US));
+        }
+        PlayerCounter.Counts counts = TAB.getInstance().getFeatureManager().<PlayerCounter>getFeature(TabConstants.Feature.PLAYER_COUNTER).getCounts();
         for (Map.Entry<String, List<String>> entry : sharedServers.entrySet()) {
-            TAB.getInstance().getPlaceholderManager().registerServerPlaceholder(TabConstants.Placeholder.globalPlayerListGroup(entry.getKey()), 1000,
-                    () -> Arrays.stream(TAB.getInstance().getOnlinePlayers()).filter(p -> entry.getValue().contains(p.getServer()) && !p.isVanished()).count());
+            Set<String> servers = new LinkedHashSet<>(entry.getValue());
+            TAB.getInstance().getPlaceholderManager().registerServerPlaceholder(TabConstants.Placeholder.globalPlayerListGroup(entry.getKey()), 1000, () -> {
+                int count = 0;
+                for (String server : servers) {
+                    count += counts.getServerOnline(server);
+                }
+                return count;
+            });
         }
     }
 
     @Override
     public void load() {
         if (updateLatency) TAB.getInstance().getFeatureManager().registerFeature(TabConstants.Feature.GLOBAL_PLAYER_LIST_LATENCY, new LatencyRefresher());
+        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            addToGroup(all, all.getServer());
+        }
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
-            List<TabList.Entry> entries = new ArrayList<>();
-            for (TabPlayer displayed : TAB.getInstance().getOnlinePlayers()) {
-                if (viewer.getServer().equals(displayed.getServer())) continue;
-                if (shouldSee(viewer, displayed)) entries.add(getAddInfoData(displayed, viewer));
-            }
-            if (!entries.isEmpty()) viewer.getTabList().addEntries(entries);
+            sendVisiblePlayers(viewer);
         }
     }
 
     public boolean shouldSee(@NotNull TabPlayer viewer, @NotNull TabPlayer displayed) {
+        return shouldSee(viewer, displayed, displayed.isVanished() && viewer.hasPermission(TabConstants.Permission.SEE_VANISHED));
+    }
+
+    /**
+     * Returns {@code true} if viewer should see displayed player, {@code false} if not.
+     * Permission of viewer to see vanished players is passed as an argument, so it can
+     * be checked once per viewer instead of once per every vanished player.
+     *
+     * @param   viewer
+     *          Player viewing the tablist
+     * @param   displayed
+     *          Player displayed in the tablist
+     * @param   seeVanished
+     *          Whether viewer can see vanished players or not
+     * @return  {@code true} if viewer should see the player, {@code false} if not
+     */
+    private boolean shouldSee(@NotNull TabPlayer viewer, @NotNull TabPlayer displayed, boolean seeVanished) {
         if (displayed == viewer) return true;
-        if (displayed.isVanished() && !viewer.hasPermission(TabConstants.Permission.SEE_VANISHED)) return false;
+        if (displayed.isVanished() && !seeVanished) return false;
         if (isSpyServer(viewer.getServer())) return true;
         return getServerGroup(viewer.getServer()).equals(getServerGroup(displayed.getServer()));
     }
 
     public @NotNull String getServerGroup(@NotNull String serverName) {
-        for (Map.Entry<String, List<String>> group : sharedServers.entrySet()) {
-            if (group.getValue().stream().anyMatch(serverName::equalsIgnoreCase)) return group.getKey();
-        }
+        String group = serverGroups.get(serverName.toLowerCase(Locale.US));
+        if (group != null) return group;
         return isolateUnlistedServers ? "isolated:" + serverName : "DEFAULT";
     }
 
+    /**
+     * Adds player into player set of server group of given server and
+     * into spy players if the server is a spy server.
+     *
+     * @param   player
+     *          Player to add
+     * @param   server
+     *          Server of the player
+     */
+    private void addToGroup(@NotNull TabPlayer player, @NotNull String server) {
+        groupPlayers.computeIfAbsent(getServerGroup(server), g -> ConcurrentHashMap.newKeySet()).add(player);
+        if (isSpyServer(server)) spyPlayers.add(player);
+    }
+
+    /**
+     * Removes player from player set of server group of given server and from spy players.
+     *
+     * @param   player
+     *          Player to remove
+     * @param   server
+     *          Server the player was on
+     */
+    private void removeFromGroup(@NotNull TabPlayer player, @NotNull String server) {
+        Set<TabPlayer> players = groupPlayers.get(getServerGroup(server));
+        if (players != null) players.remove(player);
+        spyPlayers.remove(player);
+    }
+
+    /**
+     * Returns all players in server group of given server.
+     *
+     * @param   server
+     *          Server to get players of its group
+     * @return  Players in the server group
+     */
+    private @NotNull Set<TabPlayer> getGroupPlayers(@NotNull String server) {
+        return groupPlayers.getOrDefault(getServerGroup(server), Collections.emptySet());
+    }
+
+    /**
+     * Returns players who may see given player, which are players in the same
+     * server group and players on spy servers.
+     *
+     * @param   displayed
+     *          Displayed player
+     * @return  Players who may see the player
+     */
+    private @NotNull Collection<TabPlayer> getPossibleViewers(@NotNull TabPlayer displayed) {
+        Set<TabPlayer> group = getGroupPlayers(displayed.getServer());
+        if (spyPlayers.isEmpty()) return group;
+        List<TabPlayer> viewers = new ArrayList<>(group);
+        for (TabPlayer spy : spyPlayers) {
+            if (!group.contains(spy)) viewers.add(spy);
+        }
+        return viewers;
+    }
+
+    /**
+     * Returns players who given viewer may see, which are everyone if viewer is
+     * on a spy server, players in the same server group otherwise.
+     *
+     * @param   viewer
+     *          Player viewing the tablist
+     * @return  Players the viewer may see
+     */
+    private @NotNull Collection<TabPlayer> getPossibleTargets(@NotNull TabPlayer viewer) {
+        if (isSpyServer(viewer.getServer())) return Arrays.asList(TAB.getInstance().getOnlinePlayers());
+        return getGroupPlayers(viewer.getServer());
+    }
+
+    /**
+     * Adds all players from other servers the viewer should see into their tablist.
+     *
+     * @param   viewer
+     *          Player to send entries to
+     */
+    private void sendVisiblePlayers(@NotNull TabPlayer viewer) {
+        boolean seeVanished = viewer.hasPermission(TabConstants.Permission.SEE_VANISHED);
+        List<TabList.Entry> entries = new ArrayList<>();
+        for (TabPlayer displayed : getPossibleTargets(viewer)) {
+            // Ignore players on the same server, since the server already sends add packet
+            if (viewer.getServer().equals(displayed.getServer())) continue;
+            if (shouldSee(viewer, displayed, seeVanished)) entries.add(getAddInfoData(displayed, viewer));
+        }
+        if (!entries.isEmpty()) viewer.getTabList().addEntries(entries);
+    }
+
     @Override
     public void unload() {
         for (TabPlayer displayed : TAB.getInstance().getOnlinePlayers()) {
-            for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+            for (TabPlayer viewer : getPossibleViewers(displayed)) {
                 if (!displayed.getServer().equals(viewer.getServer())) viewer.getTabList().removeEntry(displayed.getTablistId());
             }
         }
@@ -74,38 +204,38 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
 
     @Override
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (connectedPlayer.getServer().equals(all.getServer())) continue;
-            if (shouldSee(all, connectedPlayer)) {
-                all.getTabList().addEntry(getAddInfoData(connectedPlayer, all));
-            }
-            if (shouldSee(connectedPlayer, all)) {
-                connectedPlayer.getTabList().addEntry(getAddInfoData(all, connectedPlayer));
+        addToGroup(connectedPlayer, connectedPlayer.getServer());
+        for (TabPlayer viewer : getPossibleViewers(connectedPlayer)) {
+            if (connectedPlayer.getServer().equals(viewer.getServer())) continue;
+            if (shouldSee(viewer, connectedPlayer)) {
+                viewer.getTabList().addEntry(getAddInfoData(connectedPlayer, viewer));
             }
         }
+        sendVisiblePlayers(connectedPlayer);
     }
 
     @Override
     public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+        for (TabPlayer all : getPossibleViewers(disconnectedPlayer)) {
             if (all == disconnectedPlayer) continue;
             all.getTabList().removeEntry(disconnectedPlayer.getTablistId());
         }
+        removeFromGroup(disconnectedPlayer, disconnectedPlayer.getServer());
     }
 
     @Override
     public void onServerChange(@NotNull TabPlayer changed, @NotNull String from, @NotNull String to) {
+        removeFromGroup(changed, from);
+        addToGroup(changed, to);
         // Event is fired after all entries are removed from switched player's tablist, ready to re-add immediately
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            // Ignore players on the same server, since the server already sends add packet
-            if (!all.getServer().equals(changed.getServer()) && shouldSee(changed, all)) {
-                changed.getTabList().addEntry(getAddInfoData(all, changed));
-            }
-        }
+        sendVisiblePlayers(changed);
 
         // Player who switched server is removed from tablist of other players in ~70-110ms (depending on online count), re-add with a delay
         TAB.getInstance().getCPUManager().runTaskLater(200, featureName, TabConstants.CpuUsageCategory.SERVER_SWITCH, () -> {
-            for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            // Players of previous server group may still have the player, players of new group may see the player now
+            Set<TabPlayer> viewers = new HashSet<>(getGroupPlayers(from));
+            viewers.addAll(getPossibleViewers(changed));
+            for (TabPlayer all : viewers) {
                 // Remove for everyone and add back if visible, easy solution to display-others-as-spectators option
                 all.getTabList().removeEntry(changed.getTablistId());
                 if (shouldSee(all, changed)) {
@@ -134,7 +264,7 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
 
     @Override
     public void onGameModeChange(@NotNull TabPlayer player) {
-        for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+        for (TabPlayer viewer : getPossibleViewers(player)) {
             if (!player.getServer().equals(viewer.getServer())) {
                 viewer.getTabList().updateGameMode(player.getTablistId(), othersAsSpectators ? 3 : player.getGamemode());
             }
@@ -144,14 +274,14 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
     @Override
     public void onVanishStatusChange(@NotNull TabPlayer p) {
         if (p.isVanished()) {
-            for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            for (TabPlayer all : getPossibleViewers(p)) {
                 if (all == p) continue;
                 if (!shouldSee(all, p)) {
                     all.getTabList().removeEntry(p.getTablistId());
                 }
             }
         } else {
-            for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
+            for (TabPlayer viewer : getPossibleViewers(p)) {
                 if (viewer == p) continue;
                 if (shouldSee(viewer, p)) {
                     viewer.getTabList().addEntry(getAddInfoData(p, viewer));
@@ -161,6 +291,6 @@ public class GlobalPlayerList extends TabFeature implements JoinListener, QuitLi
     }
 
     public boolean isSpyServer(@NotNull String server) {
-        return spyServers.stream().anyMatch(server::equalsIgnoreCase);
+        return spyServerNames.contains(server.toLowerCase(Locale.US));
     }
 }
\ No newline at end of file
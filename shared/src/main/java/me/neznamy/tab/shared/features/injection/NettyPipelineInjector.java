@@ -21,9 +21,29 @@ import org.jetbrains.annotations.Nullable;
 @RequiredArgsConstructor
 public abstract class NettyPipelineInjector extends PipelineInjector {
 
+    /** Packet type flags */
+    private static final int PLAYER_INFO = 1;
+    private static final int DISPLAY_OBJECTIVE = 1 << 1;
+    private static final int OBJECTIVE = 1 << 2;
+    private static final int TEAM = 1 << 3;
+
     //handler to inject before
     private final @NotNull String injectPosition;
 
+    /** Packet type flags of each packet class, resolved once per class */
+    private final ClassValue<Integer> packetTypes = new ClassValue<Integer>() {
+
+        @Override
+        protected Integer computeValue(Class<?> packetClass) {
+            int types = 0;
+            if (isPlayerInfo(packetClass)) types |= PLAYER_INFO;
+            if (isDisplayObjective(packetClass)) types |= DISPLAY_OBJECTIVE;
+            if (isObjective(packetClass)) types |= OBJECTIVE;
+            if (isTeam(packetClass)) types |= TEAM;
+            return types;
+        }
+    };
+
     @Getter private final Function<TabPlayer, ChannelDuplexHandler> channelFunction = TabChannelDuplexHandler::new;
 
     protected abstract @Nullable Channel getChannel(@NotNull TabPlayer player);
@@ -66,13 +86,13 @@ public abstract class NettyPipelineInjector extends PipelineInjector {
 
     public abstract void onObjective(@NotNull TabPlayer player, @NotNull Object packet);
 
-    public abstract boolean isDisplayObjective(@NotNull Object packet);
+    public abstract boolean isDisplayObjective(@NotNull Class<?> packetClass);
 
-    public abstract boolean isObjective(@NotNull Object packet);
+    public abstract boolean isObjective(@NotNull Class<?> packetClass);
 
-    public abstract boolean isTeam(@NotNull Object packet);
+    public abstract boolean isTeam(@NotNull Class<?> packetClass);
 
-    public abstract boolean isPlayerInfo(@NotNull Object packet);
+    public abstract boolean isPlayerInfo(@NotNull Class<?> packetClass);
 
     public abstract void onPlayerInfo(@NotNull TabPlayer receiver, @NotNull Object packet);
 
@@ -93,14 +113,17 @@ public abstract class NettyPipelineInjector extends PipelineInjector {
         @Override
         public void write(ChannelHandlerContext context, Object packet, ChannelPromise channelPromise) {
             try {
-                if (isPlayerInfo(packet) && player.getVersion().getMinorVersion() >= 8)
-                                                onPlayerInfo(player, packet);
-                if (isDisplayObjective(packet)) onDisplayObjective(player, packet);
-                if (isObjective(packet))        onObjective(player, packet);
-                if (antiOverrideTeams && isTeam(packet)) {
-                    long time = System.nanoTime();
-                    modifyPlayers(packet);
-                    TAB.getInstance().getCPUManager().addTime("NameTags", TabConstants.CpuUsageCategory.ANTI_OVERRIDE, System.nanoTime()-time);
+                int types = packetTypes.get(packet.getClass());
+                if (types != 0) {
+                    if ((types & PLAYER_INFO) != 0 && player.getVersion().getMinorVersion() >= 8)
+                                                            onPlayerInfo(player, packet);
+                    if ((types & DISPLAY_OBJECTIVE) != 0)   onDisplayObjective(player, packet);
+                    if ((types & OBJECTIVE) != 0)           onObjective(player, packet);
+                    if (antiOverrideTeams && (types & TEAM) != 0) {
+                        long time = System.nanoTime();
+                        modifyPlayers(packet);
+                        TAB.getInstance().getCPUManager().addTime("NameTags", TabConstants.CpuUsageCategory.ANTI_OVERRIDE, System.nanoTime()-time);
+                    }
                 }
                 TAB.getInstance().getFeatureManager().onPacketSend(player, packet);
             } catch (Throwable e) {
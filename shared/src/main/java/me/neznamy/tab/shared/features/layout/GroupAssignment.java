@@ -0,0 +1,79 @@
+package me.neznamy.tab.shared.features.layout;
+
+import lombok.Getter;
+import me.neznamy.tab.shared.platform.TabPlayer;
+import me.neznamy.tab.shared.util.OrderStatisticTree;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Players assigned into groups of a layout pattern. Assignment only depends on the
+ * pattern and whether viewer can see vanished players, therefore it is computed once
+ * and shared by all viewers with the same combination.
+ */
+public class GroupAssignment {
+
+    /** First players of each group, at most one per slot */
+    private final List<List<TabPlayer>> groupPlayers;
+
+    /** Total amount of players in each group */
+    @Getter private final int[] playerCounts;
+
+    /**
+     * Assigns players to groups of given pattern. Every player goes into the first group
+     * whose condition they meet, groups only keep as many players as they have slots.
+     * If the first group has no condition, it takes everyone, so only the first players
+     * in sorted order are read without going through the rest.
+     *
+     * @param   manager
+     *          Layout manager holding sorted players
+     * @param   pattern
+     *          Layout pattern to assign players for
+     * @param   seeVanished
+     *          Whether vanished players should be included or not
+     */
+    public GroupAssignment(@NotNull LayoutManagerImpl manager, @NotNull LayoutPattern pattern, boolean seeVanished) {
+        List<GroupPattern> groups = pattern.getGroups();
+        OrderStatisticTree<TabPlayer> sortedPlayers = manager.getSortedPlayers();
+        groupPlayers = new ArrayList<>(groups.size());
+        for (GroupPattern group : groups) {
+            groupPlayers.add(new ArrayList<>(group.getSlots().length));
+        }
+        playerCounts = new int[groups.size()];
+        if (groups.isEmpty()) return;
+        if (groups.get(0).getCondition() == null) {
+            List<TabPlayer> players = groupPlayers.get(0);
+            int slots = groups.get(0).getSlots().length;
+            for (Iterator<TabPlayer> iterator = sortedPlayers.iterator(); iterator.hasNext() && players.size() < slots;) {
+                TabPlayer player = iterator.next();
+                if (seeVanished || !player.isVanished()) players.add(player);
+            }
+            playerCounts[0] = sortedPlayers.size() - (seeVanished ? 0 : manager.getVanishedPlayers().size());
+        } else {
+            for (TabPlayer player : sortedPlayers) {
+                if (!seeVanished && player.isVanished()) continue;
+                for (int i = 0; i < groups.size(); i++) {
+                    GroupPattern group = groups.get(i);
+                    if (group.getCondition() != null && !group.getCondition().isMet(player)) continue;
+                    if (groupPlayers.get(i).size() < group.getSlots().length) groupPlayers.get(i).add(player);
+                    playerCounts[i]++;
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns first players of group with given index, at most one per slot.
+     *
+     * @param   group
+     *          Index of group
+     * @return  First players of the group
+     */
+    public @NotNull List<TabPlayer> getPlayers(int group) {
+        return groupPlayers.get(group);
+    }
+}
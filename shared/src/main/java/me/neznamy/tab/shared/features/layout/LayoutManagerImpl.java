@@ -2,8 +2,10 @@ package me.neznamy.tab.shared.features.layout;
 
 import java.util.*;
 import java.util.Map.Entry;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 
+import lombok.Data;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -16,9 +18,11 @@ import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.config.file.ConfigurationFile;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import me.neznamy.tab.shared.features.PlayerList;
+import me.neznamy.tab.shared.features.layout.skin.DefaultHttpFetcher;
 import me.neznamy.tab.shared.features.layout.skin.SkinManager;
 import me.neznamy.tab.shared.features.sorting.Sorting;
 import me.neznamy.tab.shared.features.types.*;
+import me.neznamy.tab.shared.util.OrderStatisticTree;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
@@ -34,7 +38,8 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
     private final String remainingPlayersText = EnumChatFormat.color(TAB.getInstance().getConfig().getString("layout.remaining-players-text", "... and %s more"));
     private final int emptySlotPing = TAB.getInstance().getConfig().getInt("layout.empty-slot-ping-value", 1000);
 
-    private final SkinManager skinManager = new SkinManager(defaultSkin, defaultSkinHashMap);
+    private final AtomicBoolean skinRefreshQueued = new AtomicBoolean();
+    private final SkinManager skinManager = new SkinManager(defaultSkin, defaultSkinHashMap, new DefaultHttpFetcher(), this::onSkinLoad);
     private final Map<Integer, UUID> uuids = new HashMap<Integer, UUID>() {{
         for (int slot=1; slot<=80; slot++) {
             put(slot, new UUID(0, direction.translateSlot(slot)));
@@ -42,7 +47,9 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
     }};
     private final Map<String, LayoutPattern> layouts = loadLayouts();
     private final WeakHashMap<TabPlayer, String> teamNames = new WeakHashMap<>();
-    private final Map<TabPlayer, String> sortedPlayers = Collections.synchronizedMap(new TreeMap<>(Comparator.comparing(teamNames::get)));
+    private final OrderStatisticTree<TabPlayer> sortedPlayers = new OrderStatisticTree<>(
+            Comparator.comparing((TabPlayer p) -> teamNames.get(p)).thenComparing(TabPlayer::getUniqueId));
+    private final Set<TabPlayer> vanishedPlayers = Collections.newSetFromMap(new WeakHashMap<>());
     private final Sorting sorting = TAB.getInstance().getFeatureManager().getFeature(TabConstants.Feature.SORTING);
     private PlayerList playerList;
     private final String featureName = "Layout";
@@ -105,14 +112,15 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
     @Override
     public void onJoin(@NotNull TabPlayer p) {
         teamNames.put(p, sorting.getFullTeamName(p));
-        sortedPlayers.put(p, sorting.getFullTeamName(p));
+        sortedPlayers.add(p);
+        if (p.isVanished()) vanishedPlayers.add(p);
         LayoutPattern highest = getHighestLayout(p);
         if (highest != null) {
             LayoutView view = new LayoutView(this, highest, p);
             view.send();
             views.put(p, view);
         }
-        views.values().forEach(LayoutView::tick);
+        tickViews();
 
         // Unformat original entries for players who can see a layout to avoid spaces due to unparsed placeholders and such
         if (highest == null) return;
@@ -125,8 +133,9 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
     public void onQuit(@NotNull TabPlayer p) {
         sortedPlayers.remove(p);
         teamNames.remove(p);
+        vanishedPlayers.remove(p);
         views.remove(p);
-        views.values().forEach(LayoutView::tick);
+        tickViews();
     }
 
     @Override
@@ -148,6 +157,7 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
 
     @Override
     public void unload() {
+        skinManager.unload();
         for (TabPlayer p : TAB.getInstance().getOnlinePlayers()) {
             if (p.getVersion().getMinorVersion() < 8 || p.isBedrockPlayer()) continue;
             p.getTabList().removeEntries(uuids.values());
@@ -156,7 +166,38 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
 
     @Override
     public void onVanishStatusChange(@NotNull TabPlayer p) {
-        views.values().forEach(LayoutView::tick);
+        if (p.isVanished()) {
+            vanishedPlayers.add(p);
+        } else {
+            vanishedPlayers.remove(p);
+        }
+        tickViews();
+    }
+
+    /**
+     * Re-sends all layout entries once a skin finished downloading, so players see the
+     * new skin instead of default skin. Downloads finished at the same time are merged
+     * into a single update.
+     */
+    private void onSkinLoad() {
+        if (!skinRefreshQueued.compareAndSet(false, true)) return;
+        TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.SKIN_DOWNLOAD, () -> {
+            skinRefreshQueued.set(false);
+            views.values().forEach(LayoutView::resend);
+        });
+    }
+
+    /**
+     * Updates slots of all layout views. Group assignment is computed once for each
+     * combination of layout pattern and vanished player visibility and shared by all
+     * viewers with that combination.
+     */
+    public void tickViews() {
+        Map<AssignmentKey, GroupAssignment> assignments = new HashMap<>();
+        for (LayoutView view : views.values()) {
+            view.tick(assignments.computeIfAbsent(new AssignmentKey(view.getPattern(), view.canSeeVanished()),
+                    key -> new GroupAssignment(this, key.getPattern(), key.isSeeVanished())));
+        }
     }
 
     private @Nullable LayoutPattern getHighestLayout(@NotNull TabPlayer p) {
@@ -171,11 +212,24 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
         return uuids.get(slot);
     }
 
+    /**
+     * Moves player to new position in sorted players based on new team name. Sorted
+     * players are not thread-safe and team name can be changed using API from any
+     * thread, therefore the update is always processed on the CPU thread.
+     *
+     * @param   p
+     *          Player whose team name changed
+     * @param   teamName
+     *          New full team name of the player
+     */
     public void updateTeamName(@NotNull TabPlayer p, @NotNull String teamName) {
-        sortedPlayers.remove(p);
-        teamNames.put(p, teamName);
-        sortedPlayers.put(p, teamName);
-        views.values().forEach(LayoutView::tick);
+        TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.TEAM_NAME_UPDATE, () -> {
+            if (!teamNames.containsKey(p)) return; // Player quit or did not join yet
+            sortedPlayers.remove(p);
+            teamNames.put(p, teamName);
+            sortedPlayers.add(p);
+            tickViews();
+        });
     }
 
     @Override
@@ -191,14 +245,28 @@ public class LayoutManagerImpl extends TabFeature implements LayoutManager, Join
 
     @Override
     public void sendLayout(@NonNull me.neznamy.tab.api.TabPlayer player, @Nullable Layout layout) {
-        forcedLayouts.put(player, (LayoutPattern) layout);
-        refresh((TabPlayer) player, false);
+        TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.LAYOUT_CHANGE, () -> {
+            forcedLayouts.put(player, (LayoutPattern) layout);
+            refresh((TabPlayer) player, false);
+        });
     }
 
     @Override
     public void resetLayout(@NonNull me.neznamy.tab.api.TabPlayer player) {
-        forcedLayouts.remove(player);
-        refresh((TabPlayer) player, false);
+        TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.LAYOUT_CHANGE, () -> {
+            forcedLayouts.remove(player);
+            refresh((TabPlayer) player, false);
+        });
+    }
+
+    /**
+     * Key of shared group assignment.
+     */
+    @Data
+    private static class AssignmentKey {
+
+        @NotNull private final LayoutPattern pattern;
+        private final boolean seeVanished;
     }
 
     @RequiredArgsConstructor
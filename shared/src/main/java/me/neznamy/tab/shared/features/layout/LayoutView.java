@@ -9,13 +9,9 @@ import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.shared.platform.TabPlayer;
 import org.jetbrains.annotations.NotNull;
 
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
-import java.util.stream.Stream;
 
 @Getter
 public class LayoutView {
@@ -28,6 +24,10 @@ public class LayoutView {
     private final Collection<FixedSlot> fixedSlots;
     private final List<ParentGroup> groups = new ArrayList<>();
 
+    /** Entries of slots which changed during current tick, sent together once the tick is done */
+    private final List<UUID> removedEntries = new ArrayList<>();
+    private final List<TabList.Entry> addedEntries = new ArrayList<>();
+
     public LayoutView(LayoutManagerImpl manager, LayoutPattern pattern, TabPlayer viewer) {
         this.manager = manager;
         this.viewer = viewer;
@@ -45,15 +45,38 @@ public class LayoutView {
 
     public void send() {
         if (viewer.getVersion().getMinorVersion() < 8 || viewer.isBedrockPlayer()) return;
-        groups.forEach(ParentGroup::sendSlots);
+        viewer.getTabList().addEntries(createEntries());
+        tick();
+    }
+
+    /**
+     * Removes and adds back all entries of this layout, for example to show skins
+     * which finished downloading.
+     */
+    public void resend() {
+        if (viewer.getVersion().getMinorVersion() < 8 || viewer.isBedrockPlayer()) return;
+        List<TabList.Entry> entries = createEntries();
+        List<UUID> ids = new ArrayList<>(entries.size());
+        for (TabList.Entry entry : entries) {
+            ids.add(entry.getUniqueId());
+        }
+        viewer.getTabList().removeEntries(ids);
+        viewer.getTabList().addEntries(entries);
+    }
+
+    private @NotNull List<TabList.Entry> createEntries() {
+        List<TabList.Entry> entries = new ArrayList<>();
+        for (ParentGroup group : groups) {
+            entries.addAll(group.getSlotEntries());
+        }
         for (FixedSlot slot : fixedSlots) {
-            viewer.getTabList().addEntry(slot.createEntry(viewer));
+            entries.add(slot.createEntry(viewer));
         }
         for (int slot : emptySlots) {
-            viewer.getTabList().addEntry(new TabList.Entry(manager.getUUID(slot), getEntryName(viewer, slot), manager.getSkinManager().getDefaultSkin(slot),
+            entries.add(new TabList.Entry(manager.getUUID(slot), getEntryName(viewer, slot), manager.getSkinManager().getDefaultSkin(slot),
                     manager.getEmptySlotPing(), 0, new IChatBaseComponent("")));
         }
-        tick();
+        return entries;
     }
 
     public String getEntryName(@NotNull TabPlayer viewer, long slot) {
@@ -65,15 +88,52 @@ public class LayoutView {
         viewer.getTabList().removeEntries(manager.getUuids().values());
     }
 
+    /**
+     * Queues slot entry to be re-sent at the end of current tick.
+     *
+     * @param   entry
+     *          Entry to re-send
+     */
+    public void queueEntryUpdate(@NotNull TabList.Entry entry) {
+        removedEntries.add(entry.getUniqueId());
+        addedEntries.add(entry);
+    }
+
+    /**
+     * Computes group assignment for this view alone and updates slots.
+     */
     public void tick() {
-        Stream<TabPlayer> str = manager.getSortedPlayers().keySet().stream();
-        if (!viewer.hasPermission(TabConstants.Permission.SEE_VANISHED)) {
-            str = str.filter(player -> !player.isVanished());
-        }
-        List<TabPlayer> players = str.collect(Collectors.toList());
-        for (ParentGroup group : groups) {
-            group.tick(players);
+        tick(new GroupAssignment(manager, pattern, canSeeVanished()));
+    }
+
+    /**
+     * Returns {@code true} if viewer can see vanished players in the layout, {@code false} if not.
+     *
+     * @return  {@code true} if viewer can see vanished players, {@code false} if not
+     */
+    public boolean canSeeVanished() {
+        return viewer.hasPermission(TabConstants.Permission.SEE_VANISHED);
+    }
+
+    /**
+     * Updates slots to show given group assignment. Only slots whose content changed
+     * send anything. When a player joins or leaves, those are the slots from the
+     * player's position to the end of the group. Re-sent entries are removed and
+     * added back in one packet each.
+     *
+     * @param   assignment
+     *          Players assigned to groups of this view's pattern
+     */
+    public void tick(@NotNull GroupAssignment assignment) {
+        int groupCount = Math.min(groups.size(), assignment.getPlayerCounts().length);
+        for (int i = 0; i < groupCount; i++) {
+            groups.get(i).tick(assignment.getPlayers(i), assignment.getPlayerCounts()[i]);
         }
+        if (addedEntries.isEmpty()) return;
+        viewer.getTabList().removeEntries(new ArrayList<>(removedEntries));
+        viewer.getTabList().addEntries(new ArrayList<>(addedEntries));
+        removedEntries.clear();
+        addedEntries.clear();
     }
 
     public PlayerSlot getSlot(@NotNull TabPlayer target) {
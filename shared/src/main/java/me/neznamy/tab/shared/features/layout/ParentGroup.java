@@ -3,15 +3,13 @@ package me.neznamy.tab.shared.features.layout;
 import java.util.*;
 
 import lombok.Getter;
+import me.neznamy.tab.shared.platform.TabList;
 import me.neznamy.tab.shared.platform.TabPlayer;
-import me.neznamy.tab.shared.placeholders.conditions.Condition;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
 
 public class ParentGroup {
 
     @NotNull private final LayoutView layout;
-    @Nullable private final Condition condition;
     @Getter private final int[] slots;
     private final TabPlayer viewer;
     @Getter private final Map<Integer, PlayerSlot> playerSlots = new HashMap<>();
@@ -19,7 +17,6 @@ public class ParentGroup {
 
     public ParentGroup(@NotNull LayoutView layout, @NotNull GroupPattern pattern, @NotNull TabPlayer viewer) {
         this.layout = layout;
-        this.condition = pattern.getCondition();
         this.slots = pattern.getSlots();
         this.viewer = viewer;
         for (int slot : slots) {
@@ -27,21 +24,24 @@ public class ParentGroup {
         }
     }
 
-    public void tick(@NotNull List<TabPlayer> remainingPlayers) {
+    /**
+     * Updates slots of this group.
+     *
+     * @param   groupPlayers
+     *          First players in this group, at most one per slot
+     * @param   playerCount
+     *          Total amount of players in this group
+     */
+    public void tick(@NotNull List<TabPlayer> groupPlayers, int playerCount) {
         players.clear();
-        List<TabPlayer> meetingCondition = new ArrayList<>();
-        for (TabPlayer p : remainingPlayers) {
-            if (condition == null || condition.isMet(p)) meetingCondition.add(p);
-        }
-        remainingPlayers.removeAll(meetingCondition);
         for (int index = 0; index < slots.length; index++) {
             int slot = slots[index];
-            if (layout.getManager().isRemainingPlayersTextEnabled() && index == slots.length - 1 && playerSlots.size() < meetingCondition.size()) {
-                playerSlots.get(slot).setText(String.format(layout.getManager().getRemainingPlayersText(), meetingCondition.size() - playerSlots.size() + 1));
+            if (layout.getManager().isRemainingPlayersTextEnabled() && index == slots.length - 1 && playerSlots.size() < playerCount) {
+                playerSlots.get(slot).setText(String.format(layout.getManager().getRemainingPlayersText(), playerCount - playerSlots.size() + 1));
                 break;
             }
-            if (meetingCondition.size() > index) {
-                TabPlayer p = meetingCondition.get(index);
+            if (groupPlayers.size() > index) {
+                TabPlayer p = groupPlayers.get(index);
                 playerSlots.get(slot).setPlayer(p);
                 players.put(p, playerSlots.get(slot));
             } else {
@@ -50,7 +50,9 @@ public class ParentGroup {
         }
     }
     
-    public void sendSlots() {
-        playerSlots.values().forEach(s -> viewer.getTabList().addEntry(s.getSlot(viewer)));
+    public @NotNull List<TabList.Entry> getSlotEntries() {
+        List<TabList.Entry> entries = new ArrayList<>(playerSlots.size());
+        playerSlots.values().forEach(s -> entries.add(s.getSlot(viewer)));
+        return entries;
     }
 }
\ No newline at end of file
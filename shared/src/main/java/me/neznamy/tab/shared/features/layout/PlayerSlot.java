@@ -25,8 +25,7 @@ public class PlayerSlot {
         this.player = newPlayer;
         if (player != null) text = "";
         if (layout.getViewer().getVersion().getMinorVersion() < 8 || layout.getViewer().isBedrockPlayer()) return;
-        layout.getViewer().getTabList().removeEntry(uniqueId);
-        layout.getViewer().getTabList().addEntry(getSlot(layout.getViewer()));
+        layout.queueEntryUpdate(getSlot(layout.getViewer()));
     }
 
     public @NotNull TabList.Entry getSlot(@NotNull TabPlayer p) {
@@ -0,0 +1,62 @@
+package me.neznamy.tab.shared.features.layout.skin;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * HTTP fetcher using {@link HttpURLConnection} with timeouts,
+ * so that an unresponsive API cannot block the download thread forever.
+ */
+public class DefaultHttpFetcher implements HttpFetcher {
+
+    /** Connect and read timeout in milliseconds */
+    private static final int TIMEOUT = 10000;
+
+    @Override
+    public @NotNull String get(@NotNull String url) throws IOException {
+        HttpURLConnection con = open(url);
+        return read(con);
+    }
+
+    @Override
+    public @NotNull String post(@NotNull String url, @NotNull String json) throws IOException {
+        HttpURLConnection con = open(url);
+        con.setRequestProperty("User-Agent", "ExampleApp/v1.0");
+        con.setRequestProperty("Content-Type", "application/json");
+        con.setRequestMethod("POST");
+        con.setDoOutput(true);
+        try (OutputStream os = con.getOutputStream()) {
+            byte[] input = json.getBytes(StandardCharsets.UTF_8);
+            os.write(input, 0, input.length);
+        }
+        return read(con);
+    }
+
+    private @NotNull HttpURLConnection open(@NotNull String url) throws IOException {
+        HttpURLConnection con = (HttpURLConnection) new URL(url).openConnection();
+        con.setConnectTimeout(TIMEOUT);
+        con.setReadTimeout(TIMEOUT);
+        return con;
+    }
+
+    private @NotNull String read(@NotNull HttpURLConnection con) throws IOException {
+        try (InputStream in = con.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = in.read(buffer)) != -1) {
+                out.write(buffer, 0, length);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        } finally {
+            con.disconnect();
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package me.neznamy.tab.shared.features.layout.skin;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+/**
+ * Interface for sending HTTP requests to skin APIs. Allows replacing
+ * the default implementation, for example with one pointing to a local
+ * server instead of the real APIs.
+ */
+public interface HttpFetcher {
+
+    /**
+     * Sends GET request to given URL and returns response body.
+     *
+     * @param   url
+     *          URL to send request to
+     * @return  Response body
+     * @throws  FileNotFoundException
+     *          If server responded with 404
+     * @throws  IOException
+     *          If request failed
+     */
+    @NotNull String get(@NotNull String url) throws IOException;
+
+    /**
+     * Sends POST request with given JSON body to given URL and returns response body.
+     *
+     * @param   url
+     *          URL to send request to
+     * @param   json
+     *          JSON request body
+     * @return  Response body
+     * @throws  IOException
+     *          If request failed
+     */
+    @NotNull String post(@NotNull String url, @NotNull String json) throws IOException;
+}
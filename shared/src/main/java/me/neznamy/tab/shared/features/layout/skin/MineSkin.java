@@ -10,13 +10,12 @@ import org.jetbrains.annotations.NotNull;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.ParseException;
 
-import me.neznamy.tab.shared.config.file.ConfigurationFile;
 import me.neznamy.tab.shared.TAB;
 
 public class MineSkin extends SkinSource {
 
-    protected MineSkin(ConfigurationFile file) {
-        super(file, "mineskin");
+    protected MineSkin(@NotNull SkinCache cache, @NotNull HttpFetcher fetcher) {
+        super(cache, "mineskin", fetcher);
     }
 
     @Override
@@ -10,13 +10,12 @@ import org.jetbrains.annotations.NotNull;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.ParseException;
 
-import me.neznamy.tab.shared.config.file.ConfigurationFile;
 import me.neznamy.tab.shared.TAB;
 
 public class PlayerSkin extends SkinSource {
 
-    protected PlayerSkin(ConfigurationFile file) {
-        super(file, "players");
+    protected PlayerSkin(@NotNull SkinCache cache, @NotNull HttpFetcher fetcher) {
+        super(cache, "players", fetcher);
     }
 
     @Override
@@ -0,0 +1,129 @@
+package me.neznamy.tab.shared.features.layout.skin;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Skin cache stored in an append-only binary file. The whole file is read into
+ * memory on load, new skins are appended to the end of the file instead of
+ * rewriting it. If the last record is incomplete (for example because the server
+ * crashed while writing it), it is cut off on load.
+ * <p>
+ * File starts with a header (magic number and format version), followed by
+ * records of source name, skin input, texture value and optional signature.
+ */
+public class SkinCache {
+
+    /** File header */
+    private static final int MAGIC = 0x54414253;
+    private static final int VERSION = 1;
+
+    /** File with cached skins */
+    @NotNull private final File file;
+
+    /** Cached skin properties by source name and skin input */
+    private final Map<String, List<String>> skins = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs new instance and loads all skins from the file.
+     *
+     * @param   file
+     *          File with cached skins
+     * @throws  IOException
+     *          If file could not be read or repaired
+     */
+    public SkinCache(@NotNull File file) throws IOException {
+        this.file = file;
+        if (!file.exists()) return;
+        byte[] content = Files.readAllBytes(file.toPath());
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(content));
+        int validLength = 0;
+        try {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                validLength = -1;
+            } else {
+                validLength = content.length - in.available();
+                while (in.available() > 0) {
+                    String source = in.readUTF();
+                    String input = in.readUTF();
+                    String value = in.readUTF();
+                    String signature = in.readBoolean() ? in.readUTF() : null;
+                    skins.put(key(source, input), Arrays.asList(value, signature));
+                    validLength = content.length - in.available();
+                }
+            }
+        } catch (EOFException e) {
+            // Incomplete record at the end
+        }
+        if (validLength == -1 || validLength == 0) {
+            // Unknown format or not even a complete header, start over
+            Files.delete(file.toPath());
+        } else if (validLength < content.length) {
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+                raf.setLength(validLength);
+            }
+        }
+    }
+
+    /**
+     * Returns cached skin properties or {@code null} if not cached.
+     *
+     * @param   source
+     *          Name of skin source
+     * @param   input
+     *          Skin input of the source
+     * @return  List of texture value and signature or {@code null} if not cached
+     */
+    public @Nullable List<String> get(@NotNull String source, @NotNull String input) {
+        return skins.get(key(source, input));
+    }
+
+    /**
+     * Returns {@code true} if cache contains no skins, {@code false} if it does.
+     *
+     * @return  {@code true} if cache is empty, {@code false} if not
+     */
+    public boolean isEmpty() {
+        return skins.isEmpty();
+    }
+
+    /**
+     * Adds skin into the cache and appends it to the end of the file.
+     *
+     * @param   source
+     *          Name of skin source
+     * @param   input
+     *          Skin input of the source
+     * @param   properties
+     *          List of texture value and signature
+     * @throws  IOException
+     *          If writing into the file failed
+     */
+    public synchronized void put(@NotNull String source, @NotNull String input, @NotNull List<String> properties) throws IOException {
+        skins.put(key(source, input), properties);
+        boolean writeHeader = !file.exists() || file.length() == 0;
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)))) {
+            if (writeHeader) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+            }
+            out.writeUTF(source);
+            out.writeUTF(input);
+            out.writeUTF(properties.get(0));
+            String signature = properties.size() > 1 ? properties.get(1) : null;
+            out.writeBoolean(signature != null);
+            if (signature != null) out.writeUTF(signature);
+        }
+    }
+
+    private @NotNull String key(@NotNull String source, @NotNull String input) {
+        return source + ":" + input;
+    }
+}
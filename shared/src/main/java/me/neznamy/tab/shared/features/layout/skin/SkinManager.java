@@ -2,13 +2,16 @@ package me.neznamy.tab.shared.features.layout.skin;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
-import lombok.Getter;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import me.neznamy.tab.shared.config.file.ConfigurationFile;
 import me.neznamy.tab.shared.config.file.YamlConfigurationFile;
 import me.neznamy.tab.shared.TAB;
@@ -16,50 +19,156 @@ import me.neznamy.tab.shared.platform.TabList;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+/**
+ * Skin manager resolving skin definitions into textures. Skins which are not cached yet
+ * are downloaded on a separate thread. Until then, default skin is returned and once the
+ * download finishes, skin load listener is called, so the new skin can be sent to players.
+ */
 public class SkinManager {
 
-    private final List<String> invalidSkins = new ArrayList<>();
-    @Getter private TabList.Skin defaultSkin;
-    private final Map<Integer, TabList.Skin> defaultSkinHashMap = new HashMap<>();
+    private final Set<String> invalidSkins = ConcurrentHashMap.newKeySet();
+    private final Map<String, TabList.Skin> loadedSkins = new ConcurrentHashMap<>();
+    private final Set<String> loadingSkins = ConcurrentHashMap.newKeySet();
+    @NotNull private final String defaultSkin;
+    private final Map<Integer, String> defaultSkinHashMap;
     private final Map<String, SkinSource> sources = new HashMap<>();
+    @NotNull private final Runnable skinLoadListener;
+    private final ExecutorService downloadThread = Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder().setNameFormat("TAB Skin Download Thread").build());
 
-    public TabList.Skin getDefaultSkin(int slot) {
-        return defaultSkinHashMap.getOrDefault(slot, defaultSkin);
-    }
-
-    public SkinManager(@NotNull String defaultSkin, Map<Integer, String> defaultSkinHashMap) {
+    /**
+     * Constructs new instance, loads skin cache and starts downloading default skins
+     * which are not cached yet.
+     *
+     * @param   defaultSkin
+     *          Default skin definition
+     * @param   defaultSkinHashMap
+     *          Default skin definitions per slot
+     * @param   fetcher
+     *          HTTP fetcher for downloading skins
+     * @param   skinLoadListener
+     *          Listener called from download thread every time a skin finishes downloading
+     */
+    public SkinManager(@NotNull String defaultSkin, @NotNull Map<Integer, String> defaultSkinHashMap, @NotNull HttpFetcher fetcher,
+                       @NotNull Runnable skinLoadListener) {
+        this.defaultSkin = defaultSkin;
+        this.defaultSkinHashMap = defaultSkinHashMap;
+        this.skinLoadListener = skinLoadListener;
         try {
-            File f = new File(TAB.getInstance().getDataFolder(), "skincache.yml");
-            if (f.exists() || f.createNewFile()) {
-                ConfigurationFile cache = new YamlConfigurationFile(null, f);
-                sources.put("player", new PlayerSkin(cache));
-                sources.put("mineskin", new MineSkin(cache));
-                sources.put("texture", new Texture(cache));
-                this.defaultSkin = getSkin(defaultSkin);
-                for ( Map.Entry<Integer, String> entry : defaultSkinHashMap.entrySet()) {
-                    this.defaultSkinHashMap.put(entry.getKey(), getSkin(entry.getValue()));
-                }
-            } else {
-                TAB.getInstance().getErrorManager().criticalError("Failed to load skin cache", null);
-            }
+            SkinCache cache = new SkinCache(new File(TAB.getInstance().getDataFolder(), "skincache.dat"));
+            importLegacyCache(cache);
+            sources.put("player", new PlayerSkin(cache, fetcher));
+            sources.put("mineskin", new MineSkin(cache, fetcher));
+            sources.put("texture", new Texture(cache, fetcher));
+            getSkin(defaultSkin);
+            defaultSkinHashMap.values().forEach(this::getSkin);
         } catch (IOException e) {
             TAB.getInstance().getErrorManager().criticalError("Failed to load skin cache", e);
         }
     }
 
+    /**
+     * Copies skins from old yaml skin cache into the new cache if the new cache is empty.
+     *
+     * @param   cache
+     *          New skin cache
+     * @throws  IOException
+     *          If reading the old file or writing into the new one fails
+     */
+    private void importLegacyCache(@NotNull SkinCache cache) throws IOException {
+        File f = new File(TAB.getInstance().getDataFolder(), "skincache.yml");
+        if (!cache.isEmpty() || !f.exists()) return;
+        ConfigurationFile legacy = new YamlConfigurationFile(null, f);
+        for (String source : new String[]{"players", "mineskin", "textures"}) {
+            Map<String, List<String>> skins = legacy.getConfigurationSection(source);
+            for (Entry<String, List<String>> skin : skins.entrySet()) {
+                if (skin.getValue() != null && !skin.getValue().isEmpty()) cache.put(source, skin.getKey(), skin.getValue());
+            }
+        }
+    }
+
+    public @Nullable TabList.Skin getDefaultSkin() {
+        return getSkin(defaultSkin);
+    }
+
+    public @Nullable TabList.Skin getDefaultSkin(int slot) {
+        String skin = defaultSkinHashMap.get(slot);
+        return skin == null ? getDefaultSkin() : getSkin(skin);
+    }
+
+    /**
+     * Returns skin by its definition. If the skin is not loaded yet, its download is
+     * started and default skin is returned instead.
+     *
+     * @param   skin
+     *          Skin definition
+     * @return  Skin or default skin if not loaded yet or invalid, {@code null}
+     *          if skin definition is invalid or default skin is not loaded yet
+     */
     public @Nullable TabList.Skin getSkin(@NotNull String skin) {
-        if (invalidSkins.contains(skin)) return defaultSkin;
-        for (Entry<String, SkinSource> entry : sources.entrySet()) {
-            if (skin.startsWith(entry.getKey() + ":")) {
-                List<String> value = entry.getValue().getSkin(skin.substring(entry.getKey().length()+1));
-                if (value.isEmpty()) {
-                    invalidSkins.add(skin);
-                    return defaultSkin;
+        TabList.Skin loaded = loadedSkins.get(skin);
+        if (loaded != null) return loaded;
+        if (!invalidSkins.contains(skin)) {
+            SkinSource source = null;
+            String input = null;
+            for (Entry<String, SkinSource> entry : sources.entrySet()) {
+                if (skin.startsWith(entry.getKey() + ":")) {
+                    source = entry.getValue();
+                    input = skin.substring(entry.getKey().length()+1);
+                    break;
                 }
-                return new TabList.Skin(value.get(0), value.get(1));
+            }
+            if (source == null) {
+                TAB.getInstance().getMisconfigurationHelper().invalidLayoutSkinDefinition(skin);
+                return null;
+            }
+            List<String> cached = source.getCachedSkin(input);
+            if (cached != null) {
+                loaded = new TabList.Skin(cached.get(0), cached.get(1));
+                loadedSkins.put(skin, loaded);
+                return loaded;
+            }
+            if (loadingSkins.add(skin)) {
+                SkinSource finalSource = source;
+                String finalInput = input;
+                downloadThread.submit(() -> download(skin, finalSource, finalInput));
             }
         }
-        TAB.getInstance().getMisconfigurationHelper().invalidLayoutSkinDefinition(skin);
-        return null;
+        return skin.equals(defaultSkin) ? null : getDefaultSkin();
+    }
+
+    /**
+     * Downloads skin and notifies skin load listener if it was successful.
+     *
+     * @param   skin
+     *          Skin definition
+     * @param   source
+     *          Source of the skin
+     * @param   input
+     *          Skin input of the source
+     */
+    private void download(@NotNull String skin, @NotNull SkinSource source, @NotNull String input) {
+        try {
+            List<String> value = source.getSkin(input);
+            if (value.isEmpty()) {
+                invalidSkins.add(skin);
+                return;
+            }
+            loadedSkins.put(skin, new TabList.Skin(value.get(0), value.get(1)));
+        } catch (Exception e) {
+            TAB.getInstance().getErrorManager().printError("Failed to load skin " + skin, e);
+            invalidSkins.add(skin);
+            return;
+        } finally {
+            loadingSkins.remove(skin);
+        }
+        skinLoadListener.run();
+    }
+
+    /**
+     * Stops all pending downloads.
+     */
+    public void unload() {
+        downloadThread.shutdownNow();
     }
-}
\ No newline at end of file
+}
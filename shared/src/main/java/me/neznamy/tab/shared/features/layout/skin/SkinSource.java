@@ -1,39 +1,56 @@
 package me.neznamy.tab.shared.features.layout.skin;
 
 import java.io.IOException;
-import java.io.InputStreamReader;
-import java.net.URL;
 import java.util.List;
-import java.util.Map;
 
+import me.neznamy.tab.shared.TAB;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.json.simple.JSONObject;
 import org.json.simple.parser.JSONParser;
 import org.json.simple.parser.ParseException;
 
-import me.neznamy.tab.shared.config.file.ConfigurationFile;
-
 public abstract class SkinSource {
 
-    @NotNull private final ConfigurationFile file;
+    @NotNull private final SkinCache cache;
     @NotNull private final String path;
-    @NotNull private final Map<String, List<String>> cache;
+    @NotNull protected final HttpFetcher fetcher;
 
-    protected SkinSource(@NotNull ConfigurationFile file, @NotNull String path) {
-        this.file = file;
+    protected SkinSource(@NotNull SkinCache cache, @NotNull String path, @NotNull HttpFetcher fetcher) {
+        this.cache = cache;
         this.path = path;
-        this.cache = file.getConfigurationSection(path);
+        this.fetcher = fetcher;
+    }
+
+    /**
+     * Returns cached skin properties or {@code null} if skin is not cached yet.
+     *
+     * @param   skin
+     *          Skin input of this source
+     * @return  Cached skin properties or {@code null} if not cached
+     */
+    public @Nullable List<String> getCachedSkin(@NotNull String skin) {
+        return cache.get(path, skin);
     }
 
+    /**
+     * Returns skin properties from cache or downloads them if not cached.
+     * This method may block, it should not be called from the main thread.
+     *
+     * @param   skin
+     *          Skin input of this source
+     * @return  Skin properties or empty list if skin could not be loaded
+     */
     public @NotNull List<String> getSkin(@NotNull String skin) {
-        if (cache.containsKey(skin)) {
-            return cache.get(skin);
-        }
+        List<String> cached = cache.get(path, skin);
+        if (cached != null) return cached;
         List<String> properties = download(skin);
         if (!properties.isEmpty()) {
-            cache.put(skin, properties);
-            file.set(path, cache);
-            return properties;
+            try {
+                cache.put(path, skin, properties);
+            } catch (IOException e) {
+                TAB.getInstance().getErrorManager().printError("Failed to save skin " + skin + " into skin cache", e);
+            }
         }
         return properties;
     }
@@ -41,8 +58,6 @@ public abstract class SkinSource {
     public abstract @NotNull List<String> download(@NotNull String input);
 
     protected @NotNull JSONObject getResponse(@NotNull String url) throws IOException, ParseException {
-        try (InputStreamReader reader = new InputStreamReader(new URL(url).openStream())) {
-            return (JSONObject) new JSONParser().parse(reader);
-        }
+        return (JSONObject) new JSONParser().parse(fetcher.get(url));
     }
 }
@@ -19,6 +19,7 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class NameTag extends TabFeature implements NameTagManager, JoinListener, QuitListener,
         Loadable, UnLoadable, WorldSwitchListener, ServerSwitchListener, Refreshable {
@@ -39,6 +40,9 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
     @Getter private final DisableChecker disableChecker;
     private RedisSupport redis;
 
+    /** Team each player is expected to be in by lowercase name, including players on other proxies, used by anti-override */
+    private final Map<String, String> expectedTeams = new ConcurrentHashMap<>();
+
     private final boolean accepting18x = TAB.getInstance().getServerVersion() == ProtocolVersion.PROXY ||
             ReflectionUtils.classExists("de.gerrygames.viarewind.ViaRewind") ||
             TAB.getInstance().getServerVersion().getMinorVersion() == 8;
@@ -64,6 +68,9 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
             }
             TAB.getInstance().getPlaceholderManager().getTabExpansion().setNameTagVisibility(all, true);
         }
+        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
+            updateExpectedTeam(all);
+        }
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
             for (TabPlayer target : TAB.getInstance().getOnlinePlayers()) {
                 if (!disableChecker.isDisabledPlayer(target)) registerTeam(target, viewer);
@@ -117,6 +124,7 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
 
     @Override
     public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
+        setExpectedTeam(disconnectedPlayer.getName(), null);
         if (!disableChecker.isDisabledPlayer(disconnectedPlayer) && !hasTeamHandlingPaused(disconnectedPlayer)) {
             for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
                 if (viewer == disconnectedPlayer) continue; //player who just disconnected
@@ -243,6 +251,7 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
     }
 
     public void unregisterTeam(@NonNull TabPlayer p, @NonNull String teamName) {
+        setExpectedTeam(p.getName(), null);
         if (hasTeamHandlingPaused(p)) return;
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
             viewer.getScoreboard().unregisterTeam(teamName);
@@ -250,6 +259,7 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
     }
 
     public void registerTeam(@NonNull TabPlayer p) {
+        updateExpectedTeam(p);
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
             registerTeam(p, viewer);
         }
@@ -270,6 +280,49 @@ public class NameTag extends TabFeature implements NameTagManager, JoinListener,
         );
     }
 
+    /**
+     * Returns team player with given name is expected to be in. Returns {@code null}
+     * if player is not online or their team is not handled by TAB at the moment.
+     *
+     * @param   playerName
+     *          Name of player, case-insensitive
+     * @return  Expected team of player or {@code null} if team is not handled
+     */
+    public @Nullable String getExpectedTeam(@NonNull String playerName) {
+        return expectedTeams.get(playerName.toLowerCase(Locale.US));
+    }
+
+    /**
+     * Sets team player with given name is expected to be in.
+     *
+     * @param   playerName
+     *          Name of player, case-insensitive
+     * @param   teamName
+     *          Expected team name or {@code null} if team is not handled
+     */
+    public void setExpectedTeam(@NonNull String playerName, @Nullable String teamName) {
+        if (teamName == null) {
+            expectedTeams.remove(playerName.toLowerCase(Locale.US));
+        } else {
+            expectedTeams.put(playerName.toLowerCase(Locale.US), teamName);
+        }
+    }
+
+    /**
+     * Updates expected team of player based on current team name and whether
+     * team handling is disabled or paused for the player.
+     *
+     * @param   p
+     *          Player to update expected team of
+     */
+    private void updateExpectedTeam(@NonNull TabPlayer p) {
+        if (disableChecker.isDisabledPlayer(p) || hasTeamHandlingPaused(p)) {
+            setExpectedTeam(p.getName(), null);
+        } else {
+            setExpectedTeam(p.getName(), sorting.getShortTeamName(p));
+        }
+    }
+
     protected boolean updateProperties(@NonNull TabPlayer p) {
         boolean changed = p.loadPropertyFromConfig(this, TabConstants.Property.TAGPREFIX);
         if (p.loadPropertyFromConfig(this, TabConstants.Property.TAGSUFFIX)) changed = true;
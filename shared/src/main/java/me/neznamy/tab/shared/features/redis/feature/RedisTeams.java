@@ -44,6 +44,9 @@ public class RedisTeams extends RedisFeature {
 
     @Override
     public void onJoin(@NotNull RedisPlayer player) {
+        String teamName = teamNames.get(player);
+        teamNames.put(player, nameTags.getSorting().allocateTeamName(teamName.substring(0, teamName.length()-1), null));
+        nameTags.setExpectedTeam(player.getName(), teamNames.get(player));
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
             viewer.getScoreboard().registerTeam(teamNames.get(player), prefixes.get(player), suffixes.get(player),
                     nameVisibilities.get(player), CollisionRule.ALWAYS,
@@ -63,6 +66,8 @@ public class RedisTeams extends RedisFeature {
 
     @Override
     public void onQuit(@NotNull RedisPlayer player) {
+        nameTags.getSorting().releaseTeamName(teamNames.get(player));
+        nameTags.setExpectedTeam(player.getName(), null);
         for (TabPlayer viewer : TAB.getInstance().getOnlinePlayers()) {
             viewer.getScoreboard().unregisterTeam(teamNames.get(player));
         }
@@ -78,30 +83,13 @@ public class RedisTeams extends RedisFeature {
 
     @Override
     public void read(@NotNull ByteArrayDataInput in, @NotNull RedisPlayer player) {
-        String teamName = in.readUTF();
-        teamName = checkTeamName(player, teamName.substring(0, teamName.length()-1), 65);
-        teamNames.put(player, teamName);
+        // Unique name is allocated on join, decoded players of load message may be discarded
+        teamNames.put(player, in.readUTF());
         prefixes.put(player, in.readUTF());
         suffixes.put(player, in.readUTF());
         nameVisibilities.put(player, NameVisibility.getByName(in.readUTF()));
     }
 
-    private @NotNull String checkTeamName(@NotNull RedisPlayer player, @NotNull String currentName15, int id) {
-        String potentialTeamName = currentName15 + (char)id;
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (nameTags.getSorting().getShortTeamName(all).equals(potentialTeamName)) {
-                return checkTeamName(player, currentName15, id+1);
-            }
-        }
-        for (RedisPlayer all : redisSupport.getRedisPlayers().values()) {
-            if (all == player) continue;
-            if (teamNames.containsKey(all) && teamNames.get(all).equals(potentialTeamName)) {
-                return checkTeamName(player, currentName15, id+1);
-            }
-        }
-        return potentialTeamName;
-    }
-
     @NoArgsConstructor
     @AllArgsConstructor
     public class Update extends RedisMessage {
@@ -135,8 +123,9 @@ public class RedisTeams extends RedisFeature {
             RedisPlayer target = redisSupport.getRedisPlayers().get(playerId);
             if (target == null) return; // Print warn?
             String oldTeamName = teamNames.get(target);
-            String newTeamName = checkTeamName(target, teamName.substring(0, teamName.length()-1), 65);
+            String newTeamName = nameTags.getSorting().allocateTeamName(teamName.substring(0, teamName.length()-1), oldTeamName);
             teamNames.put(target, newTeamName);
+            nameTags.setExpectedTeam(target.getName(), newTeamName);
             prefixes.put(target, prefix);
             suffixes.put(target, suffix);
             if (!oldTeamName.equals(newTeamName)) {
@@ -49,7 +49,13 @@ public class PlayerJoin extends RedisMessage {
 
     @Override
     public void process(@NotNull RedisSupport redisSupport) {
-        redisSupport.getRedisPlayers().put(decodedPlayer.getUniqueId(), decodedPlayer);
+        RedisPlayer previous = redisSupport.getRedisPlayers().put(decodedPlayer.getUniqueId(), decodedPlayer);
+        if (previous != null) {
+            // Player is already known, remove the old instance first, so it releases its team name
+            redisSupport.getFeatures().forEach(f -> f.onQuit(previous));
+            if (!previous.isVanished()) redisSupport.getRedisCounts().remove(previous.getServer(), null, previous.isStaff());
+        }
+        if (!decodedPlayer.isVanished()) redisSupport.getRedisCounts().add(decodedPlayer.getServer(), null, decodedPlayer.isStaff());
         redisSupport.getFeatures().forEach(f -> f.onJoin(decodedPlayer));
     }
 }
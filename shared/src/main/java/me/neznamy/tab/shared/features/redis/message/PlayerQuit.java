@@ -32,5 +32,6 @@ public class PlayerQuit extends RedisMessage {
         if (target == null) return; // Print warn?
         redisSupport.getFeatures().forEach(f -> f.onQuit(target));
         redisSupport.getRedisPlayers().remove(target.getUniqueId());
+        if (!target.isVanished()) redisSupport.getRedisCounts().remove(target.getServer(), null, target.isStaff());
     }
 }
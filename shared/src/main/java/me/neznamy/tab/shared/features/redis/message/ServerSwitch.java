@@ -33,6 +33,10 @@ public class ServerSwitch extends RedisMessage {
     public void process(@NotNull RedisSupport redisSupport) {
         RedisPlayer target = redisSupport.getRedisPlayers().get(playerId);
         if (target == null) return; // Print warn?
+        if (!target.isVanished()) {
+            redisSupport.getRedisCounts().remove(target.getServer(), null, target.isStaff());
+            redisSupport.getRedisCounts().add(newServer, null, target.isStaff());
+        }
         target.setServer(newServer);
         redisSupport.getFeatures().forEach(f -> f.onServerSwitch(target));
     }
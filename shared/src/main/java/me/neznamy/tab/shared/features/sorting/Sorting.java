@@ -1,6 +1,7 @@
 package me.neznamy.tab.shared.features.sorting;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
@@ -9,6 +10,7 @@ import lombok.NonNull;
 import me.neznamy.tab.api.tablist.SortingManager;
 import me.neznamy.tab.shared.features.types.JoinListener;
 import me.neznamy.tab.shared.features.types.Loadable;
+import me.neznamy.tab.shared.features.types.QuitListener;
 import me.neznamy.tab.shared.features.types.Refreshable;
 import me.neznamy.tab.shared.features.types.TabFeature;
 import me.neznamy.tab.shared.platform.Scoreboard;
@@ -17,7 +19,6 @@ import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.TabConstants;
 import me.neznamy.tab.shared.features.layout.LayoutManagerImpl;
 import me.neznamy.tab.shared.features.nametags.NameTag;
-import me.neznamy.tab.shared.features.redis.RedisPlayer;
 import me.neznamy.tab.shared.features.redis.RedisSupport;
 import me.neznamy.tab.shared.features.sorting.types.Groups;
 import me.neznamy.tab.shared.features.sorting.types.Permissions;
@@ -28,11 +29,12 @@ import me.neznamy.tab.shared.features.sorting.types.PlaceholderLowToHigh;
 import me.neznamy.tab.shared.features.sorting.types.PlaceholderZtoA;
 import me.neznamy.tab.shared.features.sorting.types.SortingType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Class for handling player sorting rules
  */
-public class Sorting extends TabFeature implements SortingManager, JoinListener, Loadable, Refreshable {
+public class Sorting extends TabFeature implements SortingManager, JoinListener, QuitListener, Loadable, Refreshable {
 
     @Getter private final String featureName = "Team name refreshing";
     @Getter private final String refreshDisplayName = "Updating team name";
@@ -55,6 +57,9 @@ public class Sorting extends TabFeature implements SortingManager, JoinListener,
     private final WeakHashMap<TabPlayer, String> fullTeamNames = new WeakHashMap<>();
     private final WeakHashMap<TabPlayer, String> teamNameNotes = new WeakHashMap<>();
     private final WeakHashMap<me.neznamy.tab.api.TabPlayer, String> forcedTeamName = new WeakHashMap<>();
+
+    //short team names currently in use, including players on other servers
+    private final Set<String> usedTeamNames = ConcurrentHashMap.newKeySet();
     
     /**
      * Constructs new instance and loads config options
@@ -100,6 +105,13 @@ public class Sorting extends TabFeature implements SortingManager, JoinListener,
     public void onJoin(@NotNull TabPlayer connectedPlayer) {
         constructTeamNames(connectedPlayer);
     }
+
+    @Override
+    public void onQuit(@NotNull TabPlayer disconnectedPlayer) {
+        // Other features still need the name to unregister the team, remove it once the quit is processed
+        TAB.getInstance().getCPUManager().runMeasuredTask(featureName, TabConstants.CpuUsageCategory.PLAYER_QUIT,
+                () -> releaseTeamName(shortTeamNames.remove(disconnectedPlayer)));
+    }
     
     /**
      * Compiles sorting type list into classes
@@ -141,39 +153,38 @@ public class Sorting extends TabFeature implements SortingManager, JoinListener,
         if (shortName.length() > 15) {
             shortName.setLength(15);
         }
-        String finalShortName = checkTeamName(p, shortName, 65);
+        String finalShortName = allocateTeamName(shortName.toString(), shortTeamNames.get(p));
         shortTeamNames.put(p, finalShortName);
         fullTeamNames.put(p, fullName.append(finalShortName.charAt(finalShortName.length() - 1)).toString());
     }
 
     /**
-     * Checks if team name is available and proceeds to try new values until free name is found
+     * Releases previous team name of a player and finds first free team name starting
+     * with given characters, trying new values of 16th character until free name is found.
+     * The returned name is marked as used until it is released.
      *
-     * @param   p
-     *          player to build team name for
      * @param   currentName
      *          current up to 15 character long team name start
-     * @param   id
-     *          current character to check as 16th character
+     * @param   previousName
+     *          team name the player had before, {@code null} if none
      * @return  first available full team name
      */
-    private @NotNull String checkTeamName(@NotNull TabPlayer p, @NotNull StringBuilder currentName, int id) {
-        String potentialTeamName = currentName.toString() + (char)id;
-        for (TabPlayer all : TAB.getInstance().getOnlinePlayers()) {
-            if (all == p) continue;
-            if (shortTeamNames.get(all) != null && shortTeamNames.get(all).equals(potentialTeamName)) {
-                return checkTeamName(p, currentName, id+1);
-            }
+    public @NotNull String allocateTeamName(@NotNull String currentName, @Nullable String previousName) {
+        releaseTeamName(previousName);
+        for (int id = 65; ; id++) {
+            String potentialTeamName = currentName + (char)id;
+            if (usedTeamNames.add(potentialTeamName)) return potentialTeamName;
         }
-        if (redis != null) {
-            for (RedisPlayer all : redis.getRedisPlayers().values()) {
-                assert redis.getRedisTeams() != null;
-                if (redis.getRedisTeams().getTeamNames().get(all).equals(potentialTeamName)) {
-                    return checkTeamName(p, currentName, id+1);
-                }
-            }
-        }
-        return potentialTeamName;
+    }
+
+    /**
+     * Marks team name as no longer used by a player.
+     *
+     * @param   teamName
+     *          team name to release, {@code null} to do nothing
+     */
+    public void releaseTeamName(@Nullable String teamName) {
+        if (teamName != null) usedTeamNames.remove(teamName);
     }
     
     /**
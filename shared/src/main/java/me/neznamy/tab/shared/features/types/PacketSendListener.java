@@ -17,4 +17,16 @@ public interface PacketSendListener {
      *          The packet
      */
     void onPacketSend(@NotNull TabPlayer receiver, @NotNull Object packet);
+
+    /**
+     * Returns {@code true} if this listener wants to receive packets of given class.
+     * The result is cached for each class, so it must only depend on the class itself.
+     *
+     * @param   packetClass
+     *          Class of the packet
+     * @return  {@code true} if packets of this class should be forwarded, {@code false} if not
+     */
+    default boolean isListeningTo(@NotNull Class<?> packetClass) {
+        return true;
+    }
 }
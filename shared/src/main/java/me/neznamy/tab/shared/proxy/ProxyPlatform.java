@@ -10,13 +10,13 @@ import me.neznamy.tab.api.placeholder.Placeholder;
 import me.neznamy.tab.shared.platform.Platform;
 import me.neznamy.tab.shared.TAB;
 import me.neznamy.tab.shared.features.PlaceholderManagerImpl;
+import me.neznamy.tab.shared.features.PlayerCounter;
 import me.neznamy.tab.shared.features.nametags.NameTag;
 import me.neznamy.tab.shared.placeholders.UniversalPlaceholderRegistry;
 import me.neznamy.tab.shared.proxy.features.unlimitedtags.ProxyNameTagX;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -47,8 +47,7 @@ public abstract class ProxyPlatform implements Platform {
         //internal dynamic %online_<server>% placeholder
         if (identifier.startsWith("%online_")) {
             String server = identifier.substring(8, identifier.length()-1);
-            pl.registerServerPlaceholder(identifier, 1000, () ->
-                    Arrays.stream(TAB.getInstance().getOnlinePlayers()).filter(p -> p.getServer().equals(server) && !p.isVanished()).count());
+            pl.registerServerPlaceholder(identifier, 1000, () -> PlayerCounter.getRegisteredCounts().getServerOnline(server));
             return;
         }
         Placeholder placeholder;
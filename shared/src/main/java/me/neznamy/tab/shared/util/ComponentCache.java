@@ -1,29 +1,102 @@
 package me.neznamy.tab.shared.util;
 
-import lombok.AllArgsConstructor;
 import lombok.SneakyThrows;
 import me.neznamy.tab.shared.ProtocolVersion;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.util.HashMap;
-import java.util.Map;
-
-@AllArgsConstructor
+/**
+ * Thread-safe bounded cache of converted components, split by
+ * whether the client supports RGB colors or not.
+ *
+ * @param   <K>
+ *          Source type
+ * @param   <V>
+ *          Converted type
+ */
 public class ComponentCache<K, V> {
 
-    private final int cacheSize;
     private final BiFunctionWithException<K, ProtocolVersion, V> function;
-    private final Map<K, V> cacheModern = new HashMap<>();
-    private final Map<K, V> cacheLegacy = new HashMap<>();
+    private final TinyLfuCache<K, V> cacheModern;
+    private final TinyLfuCache<K, V> cacheLegacy;
+
+    /**
+     * Constructs new instance with given parameters.
+     *
+     * @param   cacheSize
+     *          Maximum amount of entries for each version group
+     * @param   function
+     *          Function converting the source into value
+     */
+    public ComponentCache(int cacheSize, @NotNull BiFunctionWithException<K, ProtocolVersion, V> function) {
+        this.function = function;
+        cacheModern = new TinyLfuCache<>(cacheSize);
+        cacheLegacy = new TinyLfuCache<>(cacheSize);
+    }
 
     @SneakyThrows
     public @NotNull V get(@NotNull K key, @Nullable ProtocolVersion clientVersion) {
-        Map<K, V> cache = clientVersion == null || clientVersion.getMinorVersion() >= 16 ? cacheModern : cacheLegacy;
-        if (cache.containsKey(key)) return cache.get(key);
-        V value = function.apply(key, clientVersion);
-        if (cache.size() > cacheSize) cache.clear();
+        TinyLfuCache<K, V> cache = clientVersion == null || clientVersion.getMinorVersion() >= 16 ? cacheModern : cacheLegacy;
+        V value = cache.get(key);
+        if (value != null) return value;
+        value = function.apply(key, clientVersion);
         cache.put(key, value);
         return value;
     }
+
+    /**
+     * Changes maximum size of the cache for each version group.
+     *
+     * @param   cacheSize
+     *          New maximum amount of entries
+     */
+    public void setCacheSize(int cacheSize) {
+        cacheModern.setMaximumSize(cacheSize);
+        cacheLegacy.setMaximumSize(cacheSize);
+    }
+
+    /**
+     * Returns maximum amount of entries for each version group.
+     *
+     * @return  maximum amount of entries for each version group
+     */
+    public int getCacheSize() {
+        return cacheModern.getMaximumSize();
+    }
+
+    /**
+     * Returns amount of currently cached entries.
+     *
+     * @return  amount of currently cached entries
+     */
+    public int size() {
+        return cacheModern.size() + cacheLegacy.size();
+    }
+
+    /**
+     * Returns amount of cache hits since startup.
+     *
+     * @return  amount of cache hits
+     */
+    public long getHits() {
+        return cacheModern.getHits() + cacheLegacy.getHits();
+    }
+
+    /**
+     * Returns amount of cache misses since startup.
+     *
+     * @return  amount of cache misses
+     */
+    public long getMisses() {
+        return cacheModern.getMisses() + cacheLegacy.getMisses();
+    }
+
+    /**
+     * Returns amount of entries evicted due to size limit since startup.
+     *
+     * @return  amount of evicted entries
+     */
+    public long getEvictions() {
+        return cacheModern.getEvictions() + cacheLegacy.getEvictions();
+    }
 }
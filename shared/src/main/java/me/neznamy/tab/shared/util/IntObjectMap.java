@@ -0,0 +1,180 @@
+package me.neznamy.tab.shared.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Thread-safe map with primitive {@code int} keys using open addressing with linear probing.
+ * Designed for lookups by entity id on netty threads, which happen far more often than
+ * modifications. Reads are lock-free and do not allocate. Modifications are synchronized
+ * and copy the table, which is then published as a whole, therefore readers always see
+ * a consistent table.
+ *
+ * @param   <V>
+ *          Value type
+ */
+public class IntObjectMap<V> {
+
+    /** Current table, replaced on every modification */
+    private volatile Table table = new Table(16);
+
+    /**
+     * Returns value mapped to given key or {@code null} if not present.
+     *
+     * @param   key
+     *          Key to get value of
+     * @return  Value mapped to the key or {@code null} if not present
+     */
+    @SuppressWarnings("unchecked")
+    public @Nullable V get(int key) {
+        Table table = this.table;
+        int mask = table.keys.length - 1;
+        for (int index = mix(key) & mask; ; index = (index + 1) & mask) {
+            Object value = table.values[index];
+            if (value == null) return null;
+            if (table.keys[index] == key) return (V) value;
+        }
+    }
+
+    /**
+     * Returns {@code true} if map contains given key, {@code false} if not.
+     *
+     * @param   key
+     *          Key to check
+     * @return  {@code true} if key is present, {@code false} if not
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps value to given key, replacing previous value if present.
+     *
+     * @param   key
+     *          Key to map value to
+     * @param   value
+     *          Value to map
+     */
+    public synchronized void put(int key, @NotNull V value) {
+        Table current = table;
+        int size = current.size;
+        if (get(key) == null) size++;
+        Table copy = new Table(size * 2 > current.keys.length ? current.keys.length * 2 : current.keys.length);
+        copy.copyFrom(current, key);
+        copy.insert(key, value);
+        table = copy;
+    }
+
+    /**
+     * Removes value mapped to given key.
+     *
+     * @param   key
+     *          Key to remove
+     * @return  Removed value or {@code null} if key was not present
+     */
+    public synchronized @Nullable V remove(int key) {
+        V previous = get(key);
+        if (previous == null) return null;
+        Table current = table;
+        Table copy = new Table(current.keys.length);
+        copy.copyFrom(current, key);
+        table = copy;
+        return previous;
+    }
+
+    /**
+     * Removes all entries from the map.
+     */
+    public synchronized void clear() {
+        table = new Table(16);
+    }
+
+    /**
+     * Returns amount of entries in the map.
+     *
+     * @return  amount of entries
+     */
+    public int size() {
+        return table.size;
+    }
+
+    /**
+     * Performs given action for each entry in the map. Entries are taken from a snapshot,
+     * therefore the map can be safely modified by the action.
+     *
+     * @param   action
+     *          Action to perform
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull EntryConsumer<V> action) {
+        Table table = this.table;
+        for (int i = 0; i < table.keys.length; i++) {
+            Object value = table.values[i];
+            if (value != null) action.accept(table.keys[i], (V) value);
+        }
+    }
+
+    /**
+     * Spreads bits of the key, so that sequential entity ids do not form long probe chains.
+     *
+     * @param   key
+     *          Key to mix
+     * @return  Mixed key
+     */
+    private static int mix(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Action performed for map entries.
+     *
+     * @param   <V>
+     *          Value type
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Performs the action for given entry.
+         *
+         * @param   key
+         *          Entry key
+         * @param   value
+         *          Entry value
+         */
+        void accept(int key, @NotNull V value);
+    }
+
+    /**
+     * Immutable (once published) hash table. Empty slots have {@code null} value.
+     */
+    private static class Table {
+
+        private final int[] keys;
+        private final Object[] values;
+        private int size;
+
+        private Table(int capacity) {
+            keys = new int[capacity];
+            values = new Object[capacity];
+        }
+
+        private void copyFrom(@NotNull Table source, int skippedKey) {
+            for (int i = 0; i < source.keys.length; i++) {
+                if (source.values[i] != null && source.keys[i] != skippedKey) insert(source.keys[i], source.values[i]);
+            }
+        }
+
+        private void insert(int key, @NotNull Object value) {
+            int mask = keys.length - 1;
+            int index = mix(key) & mask;
+            while (values[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            values[index] = value;
+            size++;
+        }
+    }
+}
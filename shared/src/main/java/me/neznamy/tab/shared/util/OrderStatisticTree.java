@@ -0,0 +1,279 @@
+package me.neznamy.tab.shared.util;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Sorted set backed by an AVL tree where every node knows the size of its subtree.
+ * Besides insertion and removal it can find the position of an element in sorted
+ * order and the element at given position, all in O(log n). Iteration can start at
+ * any position, which allows reading a contiguous range without copying the set.
+ * <p>
+ * Elements must not change their order while they are in the tree. To change the
+ * sorting key of an element, remove it first and then add it back. This class is
+ * not thread-safe.
+ *
+ * @param   <E>
+ *          Element type
+ */
+public class OrderStatisticTree<E> implements Iterable<E> {
+
+    /** Comparator defining order of elements */
+    @NotNull private final Comparator<? super E> comparator;
+
+    /** Root node, {@code null} if tree is empty */
+    @Nullable private Node<E> root;
+
+    /**
+     * Constructs new empty tree with given element order.
+     *
+     * @param   comparator
+     *          Comparator defining order of elements
+     */
+    public OrderStatisticTree(@NotNull Comparator<? super E> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Returns amount of elements in the tree.
+     *
+     * @return  amount of elements
+     */
+    public int size() {
+        return size(root);
+    }
+
+    /**
+     * Adds element into the tree. If an equal element is already present,
+     * nothing happens.
+     *
+     * @param   element
+     *          Element to add
+     * @return  {@code true} if element was added, {@code false} if already present
+     */
+    public boolean add(@NotNull E element) {
+        int size = size();
+        root = insert(root, element);
+        return size() != size;
+    }
+
+    /**
+     * Removes element from the tree.
+     *
+     * @param   element
+     *          Element to remove
+     * @return  {@code true} if element was removed, {@code false} if not present
+     */
+    public boolean remove(@NotNull E element) {
+        int size = size();
+        root = delete(root, element);
+        return size() != size;
+    }
+
+    /**
+     * Removes all elements from the tree.
+     */
+    public void clear() {
+        root = null;
+    }
+
+    /**
+     * Returns position of element in sorted order or -1 if not present.
+     *
+     * @param   element
+     *          Element to find
+     * @return  Index of element or -1 if not present
+     */
+    public int indexOf(@NotNull E element) {
+        int index = 0;
+        Node<E> node = root;
+        while (node != null) {
+            int compare = comparator.compare(element, node.element);
+            if (compare < 0) {
+                node = node.left;
+            } else if (compare > 0) {
+                index += size(node.left) + 1;
+                node = node.right;
+            } else {
+                return index + size(node.left);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns element at given position in sorted order.
+     *
+     * @param   index
+     *          Index of element
+     * @return  Element at given index
+     * @throws  IndexOutOfBoundsException
+     *          If index is out of range
+     */
+    public @NotNull E get(int index) {
+        if (index < 0 || index >= size()) throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        Node<E> node = root;
+        while (true) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node.element;
+            }
+        }
+    }
+
+    @Override
+    public @NotNull Iterator<E> iterator() {
+        return iterator(0);
+    }
+
+    /**
+     * Returns iterator over elements in sorted order, starting at given position.
+     * Finding the starting position takes O(log n), every following element O(1)
+     * on average. The tree must not be modified while iterating.
+     *
+     * @param   fromIndex
+     *          Index of first returned element
+     * @return  Iterator starting at given index
+     */
+    public @NotNull Iterator<E> iterator(int fromIndex) {
+        Deque<Node<E>> path = new ArrayDeque<>();
+        Node<E> node = root;
+        int index = fromIndex;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                path.push(node);
+                node = node.left;
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right;
+            } else {
+                path.push(node);
+                break;
+            }
+        }
+        return new Iterator<E>() {
+
+            @Override
+            public boolean hasNext() {
+                return !path.isEmpty();
+            }
+
+            @Override
+            public E next() {
+                if (path.isEmpty()) throw new NoSuchElementException();
+                Node<E> next = path.pop();
+                for (Node<E> n = next.right; n != null; n = n.left) {
+                    path.push(n);
+                }
+                return next.element;
+            }
+        };
+    }
+
+    private @NotNull Node<E> insert(@Nullable Node<E> node, @NotNull E element) {
+        if (node == null) return new Node<>(element);
+        int compare = comparator.compare(element, node.element);
+        if (compare < 0) {
+            node.left = insert(node.left, element);
+        } else if (compare > 0) {
+            node.right = insert(node.right, element);
+        } else {
+            return node;
+        }
+        return balance(node);
+    }
+
+    private @Nullable Node<E> delete(@Nullable Node<E> node, @NotNull E element) {
+        if (node == null) return null;
+        int compare = comparator.compare(element, node.element);
+        if (compare < 0) {
+            node.left = delete(node.left, element);
+        } else if (compare > 0) {
+            node.right = delete(node.right, element);
+        } else {
+            if (node.left == null) return node.right;
+            if (node.right == null) return node.left;
+            Node<E> successor = node.right;
+            while (successor.left != null) successor = successor.left;
+            node.element = successor.element;
+            node.right = delete(node.right, successor.element);
+        }
+        return balance(node);
+    }
+
+    private @NotNull Node<E> balance(@NotNull Node<E> node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) node.left = rotateLeft(node.left);
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) node.right = rotateRight(node.right);
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private @NotNull Node<E> rotateLeft(@NotNull Node<E> node) {
+        Node<E> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private @NotNull Node<E> rotateRight(@NotNull Node<E> node) {
+        Node<E> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private void update(@NotNull Node<E> node) {
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+        node.size = size(node.left) + size(node.right) + 1;
+    }
+
+    private static int height(@Nullable Node<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static int size(@Nullable Node<?> node) {
+        return node == null ? 0 : node.size;
+    }
+
+    /**
+     * Tree node.
+     *
+     * @param   <E>
+     *          Element type
+     */
+    private static class Node<E> {
+
+        @NotNull private E element;
+        @Nullable private Node<E> left;
+        @Nullable private Node<E> right;
+        private int height = 1;
+        private int size = 1;
+
+        private Node(@NotNull E element) {
+            this.element = element;
+        }
+    }
+}
@@ -2,8 +2,13 @@ package me.neznamy.tab.shared.util;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
+import lombok.SneakyThrows;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.*;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -16,6 +21,9 @@ import java.util.stream.Collectors;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class ReflectionUtils {
 
+    /** Lookup used for converting reflective objects into method handles */
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
     /**
      * Returns {@code true} if class with given full name exists,
      * {@code false} if not.
@@ -249,4 +257,80 @@ public class ReflectionUtils {
         }
         return setAccessible(fields[0]);
     }
+
+    /**
+     * Converts field into a method handle reading its value. All reference types in the
+     * handle's type are erased to {@code Object}, primitive types are kept. This allows
+     * calling it using {@code invokeExact} without having compile-time access to the class.
+     *
+     * @param   field
+     *          Field to create getter of
+     * @return  Method handle reading field's value or {@code null} if field is {@code null}
+     */
+    @SneakyThrows
+    public static @Nullable MethodHandle getter(@Nullable Field field) {
+        if (field == null) return null;
+        return erase(LOOKUP.unreflectGetter(setAccessible(field)));
+    }
+
+    /**
+     * Converts field into a method handle writing its value with type {@code (Object, Object)void}.
+     * If the field cannot be written using a direct method handle (such as final fields on some
+     * java versions), handle delegating to {@link Field#set(Object, Object)} is returned instead.
+     *
+     * @param   field
+     *          Field to create setter of
+     * @return  Method handle writing field's value or {@code null} if field is {@code null}
+     */
+    @SneakyThrows
+    public static @Nullable MethodHandle setter(@Nullable Field field) {
+        if (field == null) return null;
+        MethodHandle handle;
+        try {
+            handle = LOOKUP.unreflectSetter(setAccessible(field));
+        } catch (IllegalAccessException e) {
+            handle = LOOKUP.findVirtual(Field.class, "set", MethodType.methodType(void.class, Object.class, Object.class)).bindTo(field);
+        }
+        return handle.asType(MethodType.methodType(void.class, Object.class, Object.class));
+    }
+
+    /**
+     * Converts method into a method handle. All reference types in the handle's type
+     * are erased to {@code Object}, primitive types are kept. For instance methods,
+     * the first parameter is the instance.
+     *
+     * @param   method
+     *          Method to convert
+     * @return  Method handle invoking the method or {@code null} if method is {@code null}
+     */
+    @SneakyThrows
+    public static @Nullable MethodHandle handle(@Nullable Method method) {
+        if (method == null) return null;
+        return erase(LOOKUP.unreflect(setAccessible(method)));
+    }
+
+    /**
+     * Converts constructor into a method handle. All reference types in the handle's type
+     * are erased to {@code Object}, primitive types are kept.
+     *
+     * @param   constructor
+     *          Constructor to convert
+     * @return  Method handle invoking the constructor or {@code null} if constructor is {@code null}
+     */
+    @SneakyThrows
+    public static @Nullable MethodHandle handle(@Nullable Constructor<?> constructor) {
+        if (constructor == null) return null;
+        return erase(LOOKUP.unreflectConstructor(setAccessible(constructor)));
+    }
+
+    /**
+     * Erases all reference types of method handle's type to {@code Object}.
+     *
+     * @param   handle
+     *          Handle to erase
+     * @return  Handle with erased type
+     */
+    private static @NotNull MethodHandle erase(@NotNull MethodHandle handle) {
+        return handle.asType(handle.type().erase());
+    }
 }
@@ -0,0 +1,399 @@
+package me.neznamy.tab.shared.util;
+
+import lombok.Getter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe bounded cache using W-TinyLFU eviction policy. New entries enter
+ * a small LRU window, from which they compete for admission into the main
+ * segmented LRU space based on their estimated access frequency. This prevents
+ * one-time entries (such as animation frames) from flushing frequently used ones.
+ * <p>
+ * Reads are lock-free. Access order is only recorded when the policy lock is not
+ * contended, which means some reads may be skipped under heavy load, the same way
+ * other lossy read buffers do it.
+ *
+ * @param   <K>
+ *          Key type
+ * @param   <V>
+ *          Value type
+ */
+public class TinyLfuCache<K, V> {
+
+    /** Queue types of nodes */
+    private static final byte WINDOW = 0;
+    private static final byte PROBATION = 1;
+    private static final byte PROTECTED = 2;
+
+    /** Cached nodes by their key */
+    private final Map<K, Node<K, V>> data = new ConcurrentHashMap<>();
+
+    /** Lock guarding the policy state below */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /** Access-ordered queues, head is the least recently used entry */
+    private final AccessQueue<K, V> window = new AccessQueue<>();
+    private final AccessQueue<K, V> probation = new AccessQueue<>();
+    private final AccessQueue<K, V> protectedQueue = new AccessQueue<>();
+
+    /** Popularity estimator used for admission */
+    private final FrequencySketch sketch = new FrequencySketch();
+
+    /** Maximum amount of entries */
+    @Getter private int maximumSize;
+
+    /** Maximum amount of entries in admission window */
+    private int maximumWindowSize;
+
+    /** Maximum amount of entries in protected segment */
+    private int maximumProtectedSize;
+
+    /** Statistics */
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs new instance with given maximum size.
+     *
+     * @param   maximumSize
+     *          Maximum amount of entries
+     */
+    public TinyLfuCache(int maximumSize) {
+        setMaximumSize(maximumSize);
+    }
+
+    /**
+     * Changes maximum size of this cache, evicting entries if the cache is now over capacity.
+     *
+     * @param   maximumSize
+     *          New maximum amount of entries
+     */
+    public void setMaximumSize(int maximumSize) {
+        lock.lock();
+        try {
+            this.maximumSize = Math.max(1, maximumSize);
+            maximumWindowSize = Math.max(1, this.maximumSize / 100);
+            maximumProtectedSize = (int) ((this.maximumSize - maximumWindowSize) * 0.8);
+            sketch.ensureCapacity(this.maximumSize);
+            while (protectedQueue.size > maximumProtectedSize) demoteProtected();
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns cached value for given key or {@code null} if not present.
+     *
+     * @param   key
+     *          Key to get value of
+     * @return  Cached value or {@code null} if not present
+     */
+    public @Nullable V get(@NotNull K key) {
+        Node<K, V> node = data.get(key);
+        if (node == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (lock.tryLock()) {
+            try {
+                onAccess(node);
+            } finally {
+                lock.unlock();
+            }
+        }
+        return node.value;
+    }
+
+    /**
+     * Inserts value into the cache if key is not present yet.
+     *
+     * @param   key
+     *          Key to insert
+     * @param   value
+     *          Value to insert
+     */
+    public void put(@NotNull K key, @NotNull V value) {
+        lock.lock();
+        try {
+            if (data.containsKey(key)) return;
+            Node<K, V> node = new Node<>(key, value);
+            data.put(key, node);
+            sketch.increment(key);
+            window.addLast(node);
+            evict();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns current amount of entries in the cache.
+     *
+     * @return  amount of entries in the cache
+     */
+    public int size() {
+        return data.size();
+    }
+
+    /**
+     * Returns how many times a value was found in the cache.
+     *
+     * @return  hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns how many times a value was not found in the cache.
+     *
+     * @return  miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns how many entries were evicted due to size limit.
+     *
+     * @return  eviction count
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Updates policy after node was read. Must be called under lock.
+     *
+     * @param   node
+     *          Node that was accessed
+     */
+    private void onAccess(@NotNull Node<K, V> node) {
+        if (node.queue == -1) return; // Evicted concurrently
+        sketch.increment(node.key);
+        if (node.queue == WINDOW) {
+            window.moveToEnd(node);
+        } else if (node.queue == PROBATION) {
+            probation.remove(node);
+            node.queue = PROTECTED;
+            protectedQueue.addLast(node);
+            if (protectedQueue.size > maximumProtectedSize) demoteProtected();
+        } else {
+            protectedQueue.moveToEnd(node);
+        }
+    }
+
+    /**
+     * Moves the least recently used protected entry into probation. Must be called under lock.
+     */
+    private void demoteProtected() {
+        Node<K, V> demoted = protectedQueue.head;
+        if (demoted == null) return;
+        protectedQueue.remove(demoted);
+        demoted.queue = PROBATION;
+        probation.addLast(demoted);
+    }
+
+    /**
+     * Moves entries over window capacity into probation and evicts entries
+     * until the cache is within maximum size. Must be called under lock.
+     */
+    private void evict() {
+        int candidates = 0;
+        while (window.size > maximumWindowSize) {
+            Node<K, V> node = window.head;
+            window.remove(node);
+            node.queue = PROBATION;
+            probation.addLast(node);
+            candidates++;
+        }
+        while (window.size + probation.size + protectedQueue.size > maximumSize) {
+            Node<K, V> victim = probation.head;
+            Node<K, V> candidate = candidates > 0 ? probation.tail : null;
+            if (victim == null) {
+                // Probation is empty, evict from the other queues
+                if (protectedQueue.head != null) {
+                    demoteProtected();
+                } else {
+                    Node<K, V> node = window.head;
+                    window.remove(node);
+                    node.queue = PROBATION;
+                    probation.addLast(node);
+                }
+                continue;
+            }
+            if (candidate == null || candidate == victim) {
+                if (candidate != null) candidates--;
+                evictNode(probation, victim);
+            } else if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                evictNode(probation, victim);
+            } else {
+                candidates--;
+                evictNode(probation, candidate);
+            }
+        }
+    }
+
+    /**
+     * Removes node from given queue and the cache. Must be called under lock.
+     *
+     * @param   queue
+     *          Queue the node is in
+     * @param   node
+     *          Node to evict
+     */
+    private void evictNode(@NotNull AccessQueue<K, V> queue, @NotNull Node<K, V> node) {
+        queue.remove(node);
+        node.queue = -1;
+        data.remove(node.key, node);
+        evictions.increment();
+    }
+
+    /**
+     * Cache entry which also serves as a node in access queue.
+     */
+    private static class Node<K, V> {
+
+        private final K key;
+        private final V value;
+        private byte queue = WINDOW;
+        private Node<K, V> previous;
+        private Node<K, V> next;
+
+        private Node(@NotNull K key, @NotNull V value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Intrusive doubly linked list of nodes ordered by access time.
+     */
+    private static class AccessQueue<K, V> {
+
+        private Node<K, V> head;
+        private Node<K, V> tail;
+        private int size;
+
+        private void addLast(@NotNull Node<K, V> node) {
+            node.previous = tail;
+            node.next = null;
+            if (tail == null) {
+                head = node;
+            } else {
+                tail.next = node;
+            }
+            tail = node;
+            size++;
+        }
+
+        private void remove(@NotNull Node<K, V> node) {
+            if (node.previous == null) {
+                head = node.next;
+            } else {
+                node.previous.next = node.next;
+            }
+            if (node.next == null) {
+                tail = node.previous;
+            } else {
+                node.next.previous = node.previous;
+            }
+            node.previous = null;
+            node.next = null;
+            size--;
+        }
+
+        private void moveToEnd(@NotNull Node<K, V> node) {
+            if (node == tail) return;
+            remove(node);
+            addLast(node);
+        }
+    }
+
+    /**
+     * Count-min sketch with 4-bit counters estimating how often keys were accessed.
+     * Counters are periodically halved so that old popularity fades away.
+     */
+    private static class FrequencySketch {
+
+        private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+        private static final long RESET_MASK = 0x7777777777777777L;
+        private static final long ONE_MASK = 0x1111111111111111L;
+
+        private long[] table = new long[0];
+        private int tableMask;
+        private int sampleSize;
+        private int size;
+
+        private void ensureCapacity(int maximumSize) {
+            sampleSize = 10 * maximumSize;
+            int length = Integer.highestOneBit(Math.max(8, maximumSize) - 1) << 1;
+            if (table.length >= length) return;
+            table = new long[length];
+            tableMask = length - 1;
+            size = 0;
+        }
+
+        private int frequency(@NotNull Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            int frequency = Integer.MAX_VALUE;
+            for (int i = 0; i < 4; i++) {
+                int index = indexOf(hash, i);
+                int count = (int) ((table[index] >>> ((start + i) << 2)) & 0xFL);
+                frequency = Math.min(frequency, count);
+            }
+            return frequency;
+        }
+
+        private void increment(@NotNull Object key) {
+            int hash = spread(key.hashCode());
+            int start = (hash & 3) << 2;
+            boolean added = false;
+            for (int i = 0; i < 4; i++) {
+                added |= incrementAt(indexOf(hash, i), start + i);
+            }
+            if (added && ++size >= sampleSize) reset();
+        }
+
+        private boolean incrementAt(int index, int counter) {
+            int offset = counter << 2;
+            long mask = 0xFL << offset;
+            if ((table[index] & mask) != mask) {
+                table[index] += 1L << offset;
+                return true;
+            }
+            return false;
+        }
+
+        private void reset() {
+            int count = 0;
+            for (int i = 0; i < table.length; i++) {
+                count += Long.bitCount(table[i] & ONE_MASK);
+                table[i] = (table[i] >>> 1) & RESET_MASK;
+            }
+            size = (size - (count >>> 2)) >>> 1;
+        }
+
+        private int indexOf(int item, int i) {
+            long hash = (item + SEEDS[i]) * SEEDS[i];
+            hash += (hash >>> 32);
+            return ((int) hash) & tableMask;
+        }
+
+        private int spread(int x) {
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            x = ((x >>> 16) ^ x) * 0x45d9f3b;
+            return (x >>> 16) ^ x;
+        }
+    }
+}